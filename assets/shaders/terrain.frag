@@ -0,0 +1,18 @@
+#ifdef GL_ES
+precision mediump float;
+#endif
+
+uniform sampler2D u_texture;
+uniform vec2 u_tileSize;
+uniform vec2 u_halfTexel;
+
+varying vec4 v_color;
+varying vec2 v_uv;
+varying vec2 v_tile;
+
+void main() {
+    // Merged faces span several blocks, so the tile repeats once per block. Lookups stay half a texel inside
+    // the tile so neighbouring tiles never bleed in.
+    vec2 uv = v_tile + clamp(fract(v_uv) * u_tileSize, u_halfTexel, u_tileSize - u_halfTexel);
+    gl_FragColor = vec4(texture2D(u_texture, uv).rgb * v_color.rgb, 1.0);
+}
@@ -0,0 +1,18 @@
+attribute vec3 a_position;
+attribute vec4 a_color;
+attribute vec2 a_texCoord0;
+attribute vec2 a_tile;
+
+uniform mat4 u_projViewTrans;
+uniform mat4 u_worldTrans;
+
+varying vec4 v_color;
+varying vec2 v_uv;
+varying vec2 v_tile;
+
+void main() {
+    v_color = a_color;
+    v_uv = a_texCoord0;
+    v_tile = a_tile;
+    gl_Position = u_projViewTrans * u_worldTrans * vec4(a_position, 1.0);
+}
@@ -0,0 +1,112 @@
+package com.game;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.Vector3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap used by one chunk of blocks: block IDs in a {@link Chunk} against the {@code HashMap<Vector3, ModelInstance>}
+ * with one cube instance per solid block that chunks used to hold. Run with {@code -prof gc}, the
+ * {@code gc.alloc.rate.norm} column is the number of bytes allocated to build one chunk. The old representation
+ * keeps all of it; block storage also counts the arrays dropped while its palette grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChunkStorageBenchmark {
+    // surface: a terrain surface crossing the chunk, full: solid stone
+    @Param({"surface", "full"})
+    String shape;
+
+    private final short[] blocks = new short[Chunk.VOLUME];
+    private Model stoneModel;
+    private Model grassModel;
+
+    @Setup
+    public void setup() {
+        for (int y = 0; y < Chunk.SIZE; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    int height = shape.equals("full") ? Chunk.SIZE : 6 + (x * 7 + z * 3) % 5;
+                    short id = BlockRegistry.AIR;
+                    if (y < height) id = BlockRegistry.STONE;
+                    else if (y == height) id = BlockRegistry.GRASS;
+                    blocks[Chunk.index(x, y, z)] = id;
+                }
+            }
+        }
+        stoneModel = cubeModel();
+        grassModel = cubeModel();
+    }
+
+    @Benchmark
+    public Chunk blockIds() {
+        Chunk chunk = new Chunk(0, 0, 0);
+        for (int y = 0; y < Chunk.SIZE; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    short id = blocks[Chunk.index(x, y, z)];
+                    if (id != BlockRegistry.AIR) chunk.setBlock(x, y, z, id);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public HashMap<Vector3, ModelInstance> modelInstances() {
+        HashMap<Vector3, ModelInstance> chunk = new HashMap<>();
+        for (int y = 0; y < Chunk.SIZE; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    short id = blocks[Chunk.index(x, y, z)];
+                    if (id == BlockRegistry.AIR) continue;
+                    Vector3 position = new Vector3(x, y, z);
+                    ModelInstance instance = new ModelInstance(id == BlockRegistry.GRASS ? grassModel : stoneModel);
+                    instance.transform.setToTranslation(position);
+                    chunk.put(position, instance);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    // The node and material layout of ModelBuilder.createBox, without the mesh, which instances only reference
+    private static Model cubeModel() {
+        Material material = new Material(TextureAttribute.createDiffuse((Texture) null));
+        MeshPart meshPart = new MeshPart("box", null, 0, 36, GL20.GL_TRIANGLES);
+        Node node = new Node();
+        node.id = "node1";
+        node.parts.add(new NodePart(meshPart, material));
+
+        Model model = new Model();
+        model.materials.add(material);
+        model.meshParts.add(meshPart);
+        model.nodes.add(node);
+        return model;
+    }
+}
@@ -0,0 +1,80 @@
+package com.game;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collision cost of one tick of player movement as the loaded world grows. The player falls onto a floor and
+ * walks into a wall, the two cases movement resolves every tick. The time per operation should not depend on
+ * {@code radius}, the number of chunk columns loaded around the player in each direction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+    private static final int FLOOR = 4;
+    private static final float STEP = 10f / 60f;
+
+    @Param({"2", "8", "32"})
+    int radius;
+
+    private final ChunkMap chunks = new ChunkMap();
+    private final VoxelSweep sweep = new VoxelSweep();
+    // A player sized box just above the floor and in front of the wall
+    private final Vector3 startMin = new Vector3(7.05f, FLOOR - 0.45f, 7.35f);
+    private final Vector3 startMax = new Vector3(7.55f, FLOOR + 1.35f, 7.85f);
+    private final BoundingBox box = new BoundingBox();
+
+    @Setup
+    public void setup() {
+        for (int cz = -radius; cz <= radius; cz++) {
+            for (int cx = -radius; cx <= radius; cx++) {
+                Chunk chunk = new Chunk(cx, 0, cz);
+                for (int y = 0; y < FLOOR; y++) {
+                    for (int z = 0; z < Chunk.SIZE; z++) {
+                        for (int x = 0; x < Chunk.SIZE; x++) {
+                            chunk.setBlock(x, y, z, BlockRegistry.STONE);
+                        }
+                    }
+                }
+                // A wall along x = 9 in every chunk, for the player to walk into
+                for (int y = FLOOR; y < FLOOR + 3; y++) {
+                    for (int z = 0; z < Chunk.SIZE; z++) {
+                        chunk.setBlock(9, y, z, BlockRegistry.STONE);
+                    }
+                }
+                chunks.put(chunk);
+            }
+        }
+    }
+
+    @Benchmark
+    public float fall() {
+        box.set(startMin, startMax);
+        sweep.move(chunks, box, 0, -STEP, 0);
+        return sweep.dy;
+    }
+
+    @Benchmark
+    public float walkIntoWall() {
+        box.set(startMin, startMax);
+        sweep.move(chunks, box, STEP * 10, 0, STEP * 3);
+        return sweep.dx + sweep.dz;
+    }
+}
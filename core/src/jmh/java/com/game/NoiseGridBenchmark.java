@@ -0,0 +1,102 @@
+package com.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples per second of the grid API against one {@code GetNoise} call per sample, on the grids terrain
+ * generation uses: the 16x16 heightmap of a chunk column and the 16x16x16 volume of a chunk. The grid methods
+ * use the Vector API kernels when the JVM runs with {@code --add-modules jdk.incubator.vector}; the scalar
+ * variants fork with {@code -Dnoise.vector=false} for comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoiseGridBenchmark {
+    private static final int SIZE = Chunk.SIZE;
+    private static final float X = -40, Y = 8, Z = 24;
+
+    @Param({"Perlin", "OpenSimplex2", "Cellular"})
+    FastNoiseLite.NoiseType noiseType;
+
+    private final FastNoiseLite noise = new FastNoiseLite(1337);
+    private final float[] column = new float[SIZE * SIZE];
+    private final float[] volume = new float[SIZE * SIZE * SIZE];
+
+    @Setup
+    public void setup() {
+        noise.SetNoiseType(noiseType);
+        noise.SetFrequency(0.02f);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public float[] perSample2D() {
+        int index = 0;
+        for (int j = 0; j < SIZE; j++) {
+            for (int i = 0; i < SIZE; i++) {
+                column[index++] = noise.GetNoise(X + i, Y + j);
+            }
+        }
+        return column;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public float[] grid2D() {
+        noise.GenUniformGrid2D(column, X, Y, SIZE, SIZE, 1);
+        return column;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    @Fork(jvmArgsAppend = "-Dnoise.vector=false")
+    public float[] grid2DScalar() {
+        noise.GenUniformGrid2D(column, X, Y, SIZE, SIZE, 1);
+        return column;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public float[] perSample3D() {
+        int index = 0;
+        for (int k = 0; k < SIZE; k++) {
+            for (int j = 0; j < SIZE; j++) {
+                for (int i = 0; i < SIZE; i++) {
+                    volume[index++] = noise.GetNoise(X + i, Y + j, Z + k);
+                }
+            }
+        }
+        return volume;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public float[] grid3D() {
+        noise.GenUniformGrid3D(volume, X, Y, Z, SIZE, SIZE, SIZE, 1);
+        return volume;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    @Fork(jvmArgsAppend = "-Dnoise.vector=false")
+    public float[] grid3DScalar() {
+        noise.GenUniformGrid3D(volume, X, Y, Z, SIZE, SIZE, SIZE, 1);
+        return volume;
+    }
+}
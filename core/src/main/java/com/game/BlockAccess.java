@@ -0,0 +1,6 @@
+package com.game;
+
+/** Read access to blocks by world coordinates. Unloaded positions read as air. */
+public interface BlockAccess {
+    short getBlock(int x, int y, int z);
+}
@@ -0,0 +1,83 @@
+package com.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Packs the textures of all registered blocks into a grid of square tiles in one texture, so chunks of any mix of
+ * blocks are drawn with a single material. Textures are scaled to the size of the largest one. The tile origins
+ * are fixed after construction and may be read by the meshing workers.
+ */
+public class BlockAtlas implements ChunkMesher.Tiles, Disposable {
+    public final Texture texture;
+    public final Material material;
+    public final int tileSize;
+    // Size of one tile in texture coordinates
+    public final float tileWidth, tileHeight;
+
+    // Upper left corner of each block's tile in texture coordinates, indexed by block ID
+    private final float[] tileU = new float[BlockRegistry.MAX_BLOCKS];
+    private final float[] tileV = new float[BlockRegistry.MAX_BLOCKS];
+
+    public BlockAtlas(BlockRegistry registry) {
+        Pixmap[] images = new Pixmap[BlockRegistry.MAX_BLOCKS];
+        int count = 0;
+        int size = 1;
+        for (short id = 1; id < BlockRegistry.MAX_BLOCKS; id++) {
+            if (!registry.isRegistered(id)) continue;
+            images[id] = new Pixmap(Gdx.files.internal(registry.getTexture(id)));
+            size = Math.max(size, Math.max(images[id].getWidth(), images[id].getHeight()));
+            count++;
+        }
+
+        // Power of two sides keep older GPUs and texture coordinate precision happy
+        int columns = MathUtils.nextPowerOfTwo((int) Math.ceil(Math.sqrt(count)));
+        int rows = MathUtils.nextPowerOfTwo((count + columns - 1) / columns);
+        tileSize = size;
+        tileWidth = 1f / columns;
+        tileHeight = 1f / rows;
+
+        Pixmap atlas = new Pixmap(columns * size, rows * size, Pixmap.Format.RGBA8888);
+        atlas.setBlending(Pixmap.Blending.None);
+        atlas.setFilter(Pixmap.Filter.NearestNeighbour);
+        int tile = 0;
+        for (short id = 1; id < BlockRegistry.MAX_BLOCKS; id++) {
+            Pixmap image = images[id];
+            if (image == null) continue;
+            int column = tile % columns;
+            int row = tile / columns;
+            atlas.drawPixmap(image, 0, 0, image.getWidth(), image.getHeight(), column * size, row * size, size, size);
+            tileU[id] = column * tileWidth;
+            tileV[id] = row * tileHeight;
+            image.dispose();
+            tile++;
+        }
+
+        texture = new Texture(atlas);
+        atlas.dispose();
+        // Mipmaps would bleed neighbouring tiles into each other, the shader clamps lookups to the tile instead
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        texture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+        material = new Material(TextureAttribute.createDiffuse(texture));
+    }
+
+    @Override
+    public float tileU(short id) {
+        return tileU[id];
+    }
+
+    @Override
+    public float tileV(short id) {
+        return tileV[id];
+    }
+
+    @Override
+    public void dispose() {
+        texture.dispose();
+    }
+}
@@ -0,0 +1,40 @@
+package com.game;
+
+/**
+ * Maps the block IDs stored in {@link Chunk} to their names and the texture drawn on their faces. The textures
+ * are packed into one {@link BlockAtlas} once all blocks are registered.
+ */
+public class BlockRegistry {
+    public static final short AIR = 0;
+    public static final short STONE = 1;
+    public static final short GRASS = 2;
+
+    public static final int MAX_BLOCKS = 256;
+
+    private final String[] names = new String[MAX_BLOCKS];
+    private final String[] textures = new String[MAX_BLOCKS];
+
+    /** Registers a block drawn with the given internal texture file on all faces. */
+    public void register(short id, String name, String texture) {
+        if (id <= AIR || id >= MAX_BLOCKS) {
+            throw new IllegalArgumentException("Block id out of range: " + id);
+        }
+        if (names[id] != null) {
+            throw new IllegalArgumentException("Block id " + id + " already registered as " + names[id]);
+        }
+        names[id] = name;
+        textures[id] = texture;
+    }
+
+    public boolean isRegistered(short id) {
+        return id > AIR && id < MAX_BLOCKS && names[id] != null;
+    }
+
+    public String getName(short id) {
+        return names[id];
+    }
+
+    public String getTexture(short id) {
+        return textures[id];
+    }
+}
@@ -0,0 +1,142 @@
+package com.game;
+
+/**
+ * Palette compressed block IDs of one chunk. Each block stores an index into a small local palette, packed into a
+ * {@code long[]} with 1, 2, 4 or 8 bits per entry; the width doubles when the palette runs out of room. The widths
+ * are powers of two so an entry never straddles two longs. A chunk made of a single block type, such as air above
+ * the terrain or stone below it, keeps no array at all.
+ * <p>
+ * The palette keeps a count per entry. Entries that drop to zero are reused for the next new block type, and
+ * the storage collapses back to a single value once one entry covers the whole chunk.
+ */
+final class BlockStorage {
+    private static final int MAX_BITS = 8;
+
+    // Bits per entry, 0 while uniform, and its base 2 logarithm
+    private int bits;
+    private int bitsShift;
+    private short[] palette;
+    private int paletteSize;
+    // Blocks per palette entry, null while uniform
+    private int[] counts;
+    private long[] data;
+
+    BlockStorage(short value) {
+        palette = new short[] {value};
+        paletteSize = 1;
+    }
+
+    boolean isUniform() {
+        return bits == 0;
+    }
+
+    short get(int index) {
+        if (bits == 0) return palette[0];
+        return palette[read(index)];
+    }
+
+    /** Returns the previous block ID at the given index. */
+    short set(int index, short id) {
+        if (bits == 0) {
+            short old = palette[0];
+            if (old == id) return old;
+            // All entries start as index 0, the current value
+            bits = 1;
+            bitsShift = 0;
+            data = new long[Chunk.VOLUME / 64];
+            palette = new short[] {old, 0};
+            counts = new int[] {Chunk.VOLUME, 0};
+        }
+
+        int oldEntry = read(index);
+        short old = palette[oldEntry];
+        if (old == id) return old;
+
+        int entry = find(id);
+        if (entry < 0) entry = add(id);
+        write(index, entry);
+        counts[oldEntry]--;
+        if (++counts[entry] == Chunk.VOLUME) {
+            collapse(id);
+        }
+        return old;
+    }
+
+    /** Approximate heap size in bytes, for statistics. */
+    int sizeInBytes() {
+        int size = 16 + 16 + palette.length * 2;
+        if (counts != null) size += 16 + counts.length * 4;
+        if (data != null) size += 16 + data.length * 8;
+        return size;
+    }
+
+    private int find(short id) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == id && counts[i] > 0) return i;
+        }
+        return -1;
+    }
+
+    private int add(short id) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (counts[i] == 0) {
+                palette[i] = id;
+                return i;
+            }
+        }
+        if (paletteSize == palette.length) {
+            if (bits == MAX_BITS) {
+                throw new IllegalStateException("Chunk palette full");
+            }
+            resize(bits * 2);
+        }
+        palette[paletteSize] = id;
+        return paletteSize++;
+    }
+
+    private void resize(int newBits) {
+        long[] oldData = data;
+        int oldShift = bitsShift;
+        data = new long[Chunk.VOLUME * newBits / 64];
+        bits = newBits;
+        bitsShift = Integer.numberOfTrailingZeros(newBits);
+        for (int i = 0; i < Chunk.VOLUME; i++) {
+            write(i, read(oldData, oldShift, i));
+        }
+
+        int capacity = 1 << newBits;
+        short[] newPalette = new short[capacity];
+        System.arraycopy(palette, 0, newPalette, 0, paletteSize);
+        palette = newPalette;
+        int[] newCounts = new int[capacity];
+        System.arraycopy(counts, 0, newCounts, 0, paletteSize);
+        counts = newCounts;
+    }
+
+    private void collapse(short id) {
+        bits = 0;
+        bitsShift = 0;
+        data = null;
+        counts = null;
+        palette = new short[] {id};
+        paletteSize = 1;
+    }
+
+    private int read(int index) {
+        return read(data, bitsShift, index);
+    }
+
+    // 64 >> bitsShift entries per long
+    private static int read(long[] data, int bitsShift, int index) {
+        long word = data[index >> (6 - bitsShift)];
+        int offset = (index & ((64 >> bitsShift) - 1)) << bitsShift;
+        return (int) (word >>> offset) & ((1 << (1 << bitsShift)) - 1);
+    }
+
+    private void write(int index, int entry) {
+        int offset = (index & ((64 >> bitsShift) - 1)) << bitsShift;
+        long mask = ((1L << bits) - 1) << offset;
+        int word = index >> (6 - bitsShift);
+        data[word] = data[word] & ~mask | (long) entry << offset;
+    }
+}
@@ -1,28 +1,110 @@
 package com.game;
 
-import com.badlogic.gdx.graphics.g3d.ModelCache;
-import com.badlogic.gdx.graphics.g3d.ModelInstance;
-import com.badlogic.gdx.math.Vector3;
-
-import java.util.HashMap;
+import com.badlogic.gdx.utils.IntIntMap;
 
 public class Chunk {
-    public ModelCache modelCache;
-    public HashMap<Vector3, ModelInstance> blocks = new HashMap<>();
-    Vector3 positionInChunkCoords;
+    public static final int SIZE = 16;
+    public static final int VOLUME = SIZE * SIZE * SIZE;
+
+    // Created on the GL thread the first time the chunk is meshed
+    public ChunkMesh mesh;
+    // Block IDs indexed by local coordinates, see index()
+    final BlockStorage blocks = new BlockStorage(BlockRegistry.AIR);
+    public final int cx, cy, cz;
+    public final long key;
+    // Volatile so the render thread can test isEmpty() and isFull() without the world lock
+    volatile int blockCount = 0;
+
+    // Set while the chunk is queued for a mesh rebuild
+    boolean meshDirty = false;
+    // Blocks changed by the player since generation as local index to block ID, null while untouched
+    IntIntMap edits;
+    // Edited since it was loaded, saved when unloaded
+    boolean modified = false;
+    // Versions of the last mesh job submitted and the last one uploaded, see ChunkMeshPipeline
+    int meshRequested = 0;
+    int meshUploaded = 0;
 
-    public boolean full = false;
+    public Chunk(int cx, int cy, int cz) {
+        this.cx = cx;
+        this.cy = cy;
+        this.cz = cz;
+        this.key = ChunkMap.key(cx, cy, cz);
+    }
+
+    static int index(int lx, int ly, int lz) {
+        return (ly * SIZE + lz) * SIZE + lx;
+    }
 
-    public Chunk(Vector3 positionInChunkCoords) {
-        modelCache = new ModelCache();
-        this.positionInChunkCoords = positionInChunkCoords;
+    public short getBlock(int lx, int ly, int lz) {
+        return blocks.get(index(lx, ly, lz));
+    }
+
+    /** Returns the previous block ID at the given local coordinates. */
+    public short setBlock(int lx, int ly, int lz, short id) {
+        short old = blocks.set(index(lx, ly, lz), id);
+        if (old == BlockRegistry.AIR && id != BlockRegistry.AIR) blockCount++;
+        else if (old != BlockRegistry.AIR && id == BlockRegistry.AIR) blockCount--;
+        return old;
+    }
+
+    /** Sets a block on behalf of the player and records it in {@link #edits}. Returns the previous block ID. */
+    public short editBlock(int lx, int ly, int lz, short id) {
+        modified = true;
+        return editBlock(index(lx, ly, lz), id);
+    }
+
+    short editBlock(int index, short id) {
+        if (edits == null) edits = new IntIntMap();
+        edits.put(index, id);
+        int lx = index % SIZE;
+        int lz = index / SIZE % SIZE;
+        int ly = index / (SIZE * SIZE);
+        return setBlock(lx, ly, lz, id);
+    }
+
+    /** Approximate heap size of the block data in bytes. */
+    public int storageBytes() {
+        return blocks.sizeInBytes();
+    }
+
+    public boolean isEmpty() {
+        return blockCount == 0;
+    }
+
+    // Every registered block is opaque, so a full chunk hides whatever is behind it
+    public boolean isFull() {
+        return blockCount == VOLUME;
+    }
+
+    /**
+     * Copies the blocks of this chunk plus a one block border taken from the neighbours
+     * into {@code out}, laid out as expected by {@link ChunkMesher}.
+     */
+    public void copyPadded(BlockAccess world, short[] out) {
+        int ox = cx * SIZE;
+        int oy = cy * SIZE;
+        int oz = cz * SIZE;
+        boolean uniform = blocks.isUniform();
+        short value = blocks.get(0);
+        for (int y = -1; y <= SIZE; y++) {
+            for (int z = -1; z <= SIZE; z++) {
+                for (int x = -1; x <= SIZE; x++) {
+                    boolean inside = x >= 0 && y >= 0 && z >= 0 && x < SIZE && y < SIZE && z < SIZE;
+                    short id;
+                    if (!inside) id = world.getBlock(ox + x, oy + y, oz + z);
+                    else if (uniform) id = value;
+                    else id = blocks.get(index(x, y, z));
+                    out[ChunkMesher.paddedIndex(x, y, z)] = id;
+                }
+            }
+        }
     }
 
-    public void rebuildCache() {
-        modelCache.begin();
-        for (ModelInstance block : blocks.values()) {
-            modelCache.add(block);
+    public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
         }
-        modelCache.end();
     }
 }
@@ -0,0 +1,75 @@
+package com.game;
+
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Chunk registry keyed by chunk coordinates packed into a long, backed by libGDX's open addressing
+ * {@link LongMap}. World coordinates are converted with arithmetic shifts, which floor towards
+ * negative infinity, so negative positions map to their own chunks. Lookups do not allocate.
+ */
+public class ChunkMap implements BlockAccess {
+    public static final int SHIFT = 4;
+    public static final int MASK = Chunk.SIZE - 1;
+
+    // 21 bits per axis covers +-1048576 chunks, far beyond the float precision limit of the world
+    private static final int BITS = 21;
+    private static final long AXIS_MASK = (1L << BITS) - 1;
+
+    private final LongMap<Chunk> chunks = new LongMap<>(1024);
+
+    public static long key(int cx, int cy, int cz) {
+        return ((cx & AXIS_MASK) << (BITS * 2)) | ((cy & AXIS_MASK) << BITS) | (cz & AXIS_MASK);
+    }
+
+    /** Converts a world block coordinate to the coordinate of the chunk containing it. */
+    public static int toChunk(int world) {
+        return world >> SHIFT;
+    }
+
+    /** Converts a world block coordinate to the local coordinate inside its chunk. */
+    public static int toLocal(int world) {
+        return world & MASK;
+    }
+
+    public Chunk get(int cx, int cy, int cz) {
+        return chunks.get(key(cx, cy, cz));
+    }
+
+    public Chunk get(long key) {
+        return chunks.get(key);
+    }
+
+    /** Returns the chunk containing the given world block coordinates, or null. */
+    public Chunk getAt(int x, int y, int z) {
+        return chunks.get(key(x >> SHIFT, y >> SHIFT, z >> SHIFT));
+    }
+
+    @Override
+    public short getBlock(int x, int y, int z) {
+        Chunk chunk = getAt(x, y, z);
+        // Answered without a block lookup for empty chunks, the common case for collision and raycasts in open air
+        if (chunk == null || chunk.isEmpty()) return BlockRegistry.AIR;
+        return chunk.getBlock(toLocal(x), toLocal(y), toLocal(z));
+    }
+
+    public void put(Chunk chunk) {
+        chunks.put(chunk.key, chunk);
+    }
+
+    public Chunk remove(long key) {
+        return chunks.remove(key);
+    }
+
+    public boolean contains(long key) {
+        return chunks.containsKey(key);
+    }
+
+    public int size() {
+        return chunks.size;
+    }
+
+    /** Reusable iterator over all chunks; must not be nested. */
+    public LongMap.Values<Chunk> values() {
+        return chunks.values();
+    }
+}
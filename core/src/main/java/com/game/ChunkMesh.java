@@ -0,0 +1,64 @@
+package com.game;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * GPU side of a chunk: a single {@link Mesh} uploaded from {@link ChunkMeshData}, drawn with the
+ * {@link BlockAtlas} material in one draw call.
+ */
+public class ChunkMesh implements RenderableProvider, Disposable {
+    public static final String TILE_ATTRIBUTE = "a_tile";
+
+    private Mesh mesh;
+    private final Renderable renderable = new Renderable();
+    private boolean empty = true;
+
+    /** Uploads the mesh data. Vertex positions are chunk local, so the chunk origin is set as transform. */
+    public void upload(ChunkMeshData data, Material material, float originX, float originY, float originZ) {
+        empty = data.isEmpty();
+        if (empty) return;
+
+        int vertexCount = data.vertexCount();
+        if (mesh == null || mesh.getMaxVertices() < vertexCount || mesh.getMaxIndices() < data.indices.size) {
+            if (mesh != null) mesh.dispose();
+            // Layout matches ChunkMesher.VERTEX_SIZE
+            mesh = new Mesh(true, vertexCount, data.indices.size,
+                VertexAttribute.Position(), VertexAttribute.ColorPacked(), VertexAttribute.TexCoords(0),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, TILE_ATTRIBUTE));
+        }
+        mesh.setVertices(data.vertices.items, 0, data.vertices.size);
+        mesh.setIndices(data.indices.items, 0, data.indices.size);
+
+        renderable.meshPart.set("chunk", mesh, 0, data.indices.size, GL20.GL_TRIANGLES);
+        renderable.material = material;
+        // Blocks are centered on integer coordinates, the mesh starts at the block corner
+        renderable.worldTransform.setToTranslation(originX - 0.5f, originY - 0.5f, originZ - 0.5f);
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    @Override
+    public void getRenderables(Array<Renderable> out, Pool<Renderable> pool) {
+        if (!empty) out.add(pool.obtain().set(renderable));
+    }
+
+    @Override
+    public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+            mesh = null;
+        }
+        empty = true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.game;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ShortArray;
+
+/**
+ * CPU side output of {@link ChunkMesher}: the vertices and indices of all faces of a chunk. Every block type
+ * samples the same {@link BlockAtlas}, so one list covers them all.
+ */
+public class ChunkMeshData {
+    public final FloatArray vertices = new FloatArray(ChunkMesher.VERTEX_SIZE * 4 * 256);
+    public final ShortArray indices = new ShortArray(6 * 256);
+    public int quadCount;
+
+    public boolean isEmpty() {
+        return indices.size == 0;
+    }
+
+    public int vertexCount() {
+        return vertices.size / ChunkMesher.VERTEX_SIZE;
+    }
+
+    public int indexCount() {
+        return indices.size;
+    }
+
+    public void clear() {
+        vertices.clear();
+        indices.clear();
+        quadCount = 0;
+    }
+}
@@ -0,0 +1,215 @@
+package com.game;
+
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Queue;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds chunk meshes in two phases. The render thread snapshots the dirty chunk with its border
+ * ({@link Chunk#copyPadded}) and a worker turns the snapshot into vertex and index arrays. The finished data
+ * comes back through a lock-free queue and is uploaded on the render thread within a byte budget per frame.
+ * A chunk keeps drawing its previous mesh until the new one is uploaded, so edits never stall a frame.
+ * Only the snapshot holds {@code lock}, which guards the blocks against edits from other threads; meshes and
+ * uploads belong to the render thread.
+ */
+public class ChunkMeshPipeline {
+    private final ChunkMap chunks;
+    private final Object lock;
+    private final BlockAccess world;
+    private final BlockAtlas atlas;
+    private final Environment environment;
+    private final Executor workers;
+    // Jobs in flight are capped so snapshots are not taken much earlier than they can be meshed
+    private final int maxInFlight;
+    private int inFlight;
+
+    // Chunks waiting for a mesh rebuild, see Chunk.meshDirty
+    private final Queue<Chunk> dirty = new Queue<>();
+    private final ConcurrentLinkedQueue<Job> finished = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Job> freeJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final ThreadLocal<ChunkMesher> meshers = new ThreadLocal<ChunkMesher>() {
+        @Override
+        protected ChunkMesher initialValue() {
+            return new ChunkMesher(atlas, environment);
+        }
+    };
+
+    /** Lighting is baked into the meshes from {@code environment}, which must not change afterwards. */
+    public ChunkMeshPipeline(ChunkMap chunks, Object lock, BlockAccess world, BlockAtlas atlas,
+                             Environment environment, Executor workers, int threads) {
+        this.chunks = chunks;
+        this.lock = lock;
+        this.world = world;
+        this.atlas = atlas;
+        this.environment = environment;
+        this.workers = workers;
+        this.maxInFlight = threads * 2;
+    }
+
+    /** Queues the chunk for a mesh rebuild. Chunks already queued are not added twice. */
+    public void markDirty(Chunk chunk) {
+        if (chunk == null || chunk.meshDirty) return;
+        chunk.meshDirty = true;
+        dirty.addLast(chunk);
+    }
+
+    /**
+     * Queues the meshes affected by a change of the block at the given world coordinates: its own chunk, plus
+     * every neighbour whose padding holds the block, since their faces and corner occlusion may change.
+     * Any number of edits before the next {@link #update} cost at most one rebuild per chunk.
+     */
+    public void markBlockChanged(int x, int y, int z) {
+        int cx = ChunkMap.toChunk(x);
+        int cy = ChunkMap.toChunk(y);
+        int cz = ChunkMap.toChunk(z);
+
+        // A block on an edge or corner of its chunk is in the padding of up to seven neighbours
+        int fromX = ChunkMap.toLocal(x) == 0 ? -1 : 0;
+        int toX = ChunkMap.toLocal(x) == Chunk.SIZE - 1 ? 1 : 0;
+        int fromY = ChunkMap.toLocal(y) == 0 ? -1 : 0;
+        int toY = ChunkMap.toLocal(y) == Chunk.SIZE - 1 ? 1 : 0;
+        int fromZ = ChunkMap.toLocal(z) == 0 ? -1 : 0;
+        int toZ = ChunkMap.toLocal(z) == Chunk.SIZE - 1 ? 1 : 0;
+        markDirty(cx, cy, cz, fromX, toX, fromY, toY, fromZ, toZ);
+    }
+
+    /**
+     * Queues a newly loaded chunk and all 26 loaded neighbours, since their padding now holds its blocks instead
+     * of air. The edge and corner neighbours share only an edge or corner, which still changes their occlusion.
+     */
+    public void markChunkLoaded(Chunk chunk) {
+        markDirty(chunk.cx, chunk.cy, chunk.cz, -1, 1, -1, 1, -1, 1);
+    }
+
+    // The chunks at the given offset ranges around (cx, cy, cz)
+    private void markDirty(int cx, int cy, int cz, int fromX, int toX, int fromY, int toY, int fromZ, int toZ) {
+        for (int dy = fromY; dy <= toY; dy++) {
+            for (int dz = fromZ; dz <= toZ; dz++) {
+                for (int dx = fromX; dx <= toX; dx++) {
+                    markDirty(chunks.get(cx + dx, cy + dy, cz + dz));
+                }
+            }
+        }
+    }
+
+    /**
+     * Uploads finished meshes until {@code uploadBudgetBytes} of vertex and index data were sent to the GPU,
+     * then snapshots dirty chunks for the workers until {@code deadline} passes. At least one of each
+     * runs per call when there is work.
+     */
+    public void update(long deadline, int uploadBudgetBytes) {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new GdxRuntimeException("Chunk meshing failed", error);
+        }
+
+        int uploaded = 0;
+        Job job;
+        while (uploaded < uploadBudgetBytes && (job = finished.poll()) != null) {
+            inFlight--;
+            uploaded += upload(job);
+            freeJobs.add(job);
+        }
+
+        boolean first = true;
+        while (dirty.notEmpty() && inFlight < maxInFlight && (first || TimeUtils.nanoTime() < deadline)) {
+            Chunk chunk = dirty.removeFirst();
+            chunk.meshDirty = false;
+            // Skip chunks that were unloaded while waiting
+            if (chunks.get(chunk.key) != chunk) continue;
+            if (!needsMesh(chunk)) {
+                dropMesh(chunk);
+                continue;
+            }
+
+            submit(chunk);
+            first = false;
+        }
+    }
+
+    public int dirtyCount() {
+        return dirty.size;
+    }
+
+    public int inFlightCount() {
+        return inFlight;
+    }
+
+    /**
+     * Empty chunks have no faces, and neither has a full chunk whose six neighbours are loaded and full, since
+     * every face of it touches a solid block. Unloaded neighbours count as air, like in {@link Chunk#copyPadded}.
+     */
+    private boolean needsMesh(Chunk chunk) {
+        if (chunk.isEmpty()) return false;
+        return !(chunk.isFull()
+            && isFull(chunk.cx - 1, chunk.cy, chunk.cz) && isFull(chunk.cx + 1, chunk.cy, chunk.cz)
+            && isFull(chunk.cx, chunk.cy - 1, chunk.cz) && isFull(chunk.cx, chunk.cy + 1, chunk.cz)
+            && isFull(chunk.cx, chunk.cy, chunk.cz - 1) && isFull(chunk.cx, chunk.cy, chunk.cz + 1));
+    }
+
+    private boolean isFull(int cx, int cy, int cz) {
+        Chunk chunk = chunks.get(cx, cy, cz);
+        return chunk != null && chunk.isFull();
+    }
+
+    private void dropMesh(Chunk chunk) {
+        if (chunk.mesh != null) {
+            chunk.mesh.dispose();
+            chunk.mesh = null;
+        }
+        // Jobs still in flight for this chunk are now outdated
+        chunk.meshUploaded = chunk.meshRequested;
+    }
+
+    private void submit(Chunk chunk) {
+        Job job = freeJobs.poll();
+        if (job == null) job = new Job();
+        job.chunk = chunk;
+        job.version = ++chunk.meshRequested;
+        synchronized (lock) {
+            chunk.copyPadded(world, job.padded);
+        }
+
+        inFlight++;
+        workers.execute(job);
+    }
+
+    /** Returns the number of bytes uploaded. */
+    private int upload(Job job) {
+        Chunk chunk = job.chunk;
+        job.chunk = null;
+        // Drop meshes of unloaded chunks and results older than the mesh already shown
+        if (chunks.get(chunk.key) != chunk || job.version <= chunk.meshUploaded) return 0;
+
+        if (chunk.mesh == null) {
+            chunk.mesh = new ChunkMesh();
+        }
+        chunk.mesh.upload(job.data, atlas.material, chunk.cx * Chunk.SIZE, chunk.cy * Chunk.SIZE, chunk.cz * Chunk.SIZE);
+        chunk.meshUploaded = job.version;
+        return job.data.vertexCount() * ChunkMesher.VERTEX_SIZE * 4 + job.data.indexCount() * 2;
+    }
+
+    private class Job implements Runnable {
+        final short[] padded = new short[ChunkMesher.PADDED_VOLUME];
+        final ChunkMeshData data = new ChunkMeshData();
+        Chunk chunk;
+        int version;
+
+        @Override
+        public void run() {
+            try {
+                meshers.get().mesh(padded, data);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+            finished.add(this);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.DirectionalLightsAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ShortArray;
+
+/**
+ * Builds the vertex and index data of a chunk from its block IDs. Only faces that touch air are emitted,
+ * and coplanar faces of the same block type are merged into larger quads (greedy meshing).
+ * The mesher works on a padded copy of the chunk (see {@link Chunk#copyPadded}) so it never touches the world.
+ * <p>
+ * Lighting is baked into a vertex color: a brightness per face direction times the ambient occlusion of each
+ * corner, from the three blocks next to the corner on the air side of the face. Faces are only merged across
+ * blocks when the occlusion does not change along the merged direction, so merged quads shade exactly like the
+ * faces they replace.
+ */
+public class ChunkMesher {
+    public static final int PADDED = Chunk.SIZE + 2;
+    public static final int PADDED_VOLUME = PADDED * PADDED * PADDED;
+
+    // position (3), packed color (1), texture coordinates in blocks (2), atlas tile origin (2)
+    public static final int VERTEX_SIZE = 8;
+
+    // Brightness of a corner by its occlusion level, 0 for a corner between two solid blocks, 3 for an open one
+    private static final float[] OCCLUSION_LIGHT = {0.45f, 0.65f, 0.85f, 1f};
+
+    /** Atlas tile origin of each block type, {@link BlockAtlas} in the game. */
+    public interface Tiles {
+        float tileU(short id);
+
+        float tileV(short id);
+    }
+
+    private final Tiles atlas;
+    // Packed vertex colors indexed by (direction * 2 + positive) * 4 + occlusion level
+    private final float[] colors = new float[6 * 4];
+    private final int[] mask = new int[Chunk.SIZE * Chunk.SIZE];
+    private final int[] pos = new int[3];
+
+    /**
+     * Faces are lit like a lambert shader would light them, by the ambient light and the first directional light
+     * of the environment. Without an ambient light faces are fully lit.
+     */
+    public ChunkMesher(Tiles atlas, Environment environment) {
+        this.atlas = atlas;
+        ColorAttribute ambientAttribute = (ColorAttribute) environment.get(ColorAttribute.AmbientLight);
+        Color ambient = ambientAttribute != null ? ambientAttribute.color : Color.WHITE;
+        DirectionalLightsAttribute lights = environment.get(DirectionalLightsAttribute.class, DirectionalLightsAttribute.Type);
+        DirectionalLight light = lights != null && lights.lights.size > 0 ? lights.lights.first() : null;
+
+        for (int d = 0; d < 3; d++) {
+            float towardsLight = 0;
+            Color lightColor = Color.BLACK;
+            if (light != null) {
+                towardsLight = -(d == 0 ? light.direction.x : d == 1 ? light.direction.y : light.direction.z);
+                lightColor = light.color;
+            }
+            setColors(d * 2, ambient, lightColor, Math.max(-towardsLight, 0));
+            setColors(d * 2 + 1, ambient, lightColor, Math.max(towardsLight, 0));
+        }
+    }
+
+    private void setColors(int face, Color ambient, Color light, float lambert) {
+        for (int level = 0; level < 4; level++) {
+            float occlusion = OCCLUSION_LIGHT[level];
+            colors[face * 4 + level] = Color.toFloatBits(
+                Math.min((ambient.r + light.r * lambert) * occlusion, 1f),
+                Math.min((ambient.g + light.g * lambert) * occlusion, 1f),
+                Math.min((ambient.b + light.b * lambert) * occlusion, 1f), 1f);
+        }
+    }
+
+    static int paddedIndex(int x, int y, int z) {
+        return ((y + 1) * PADDED + (z + 1)) * PADDED + (x + 1);
+    }
+
+    /**
+     * Meshes the padded block volume into {@code out}, which is cleared first. At most 17 planes of 16x16 faces
+     * per axis can be emitted, 52224 vertices, so short indices always suffice.
+     */
+    public void mesh(short[] padded, ChunkMeshData out) {
+        out.clear();
+
+        for (int d = 0; d < 3; d++) {
+            int u = (d + 1) % 3;
+            int v = (d + 2) % 3;
+
+            // Walk the planes between layers d-1 and d, including both chunk borders
+            for (int layer = 0; layer <= Chunk.SIZE; layer++) {
+                int n = 0;
+                for (int j = 0; j < Chunk.SIZE; j++) {
+                    for (int i = 0; i < Chunk.SIZE; i++) {
+                        pos[d] = layer - 1;
+                        pos[u] = i;
+                        pos[v] = j;
+                        short behind = padded[paddedIndex(pos[0], pos[1], pos[2])];
+                        pos[d] = layer;
+                        short front = padded[paddedIndex(pos[0], pos[1], pos[2])];
+
+                        int m = 0;
+                        if (behind != BlockRegistry.AIR && front == BlockRegistry.AIR && layer > 0) {
+                            // face of the block behind, pointing towards +d
+                            m = behind | occlusion(padded, d, u, v, layer, i, j) << 8;
+                        } else if (front != BlockRegistry.AIR && behind == BlockRegistry.AIR && layer < Chunk.SIZE) {
+                            // face of the block in front, pointing towards -d
+                            m = -(front | occlusion(padded, d, u, v, layer - 1, i, j) << 8);
+                        }
+                        mask[n++] = m;
+                    }
+                }
+
+                // Merge equal mask entries into rectangles
+                n = 0;
+                for (int j = 0; j < Chunk.SIZE; j++) {
+                    for (int i = 0; i < Chunk.SIZE; ) {
+                        int m = mask[n];
+                        if (m == 0) {
+                            i++;
+                            n++;
+                            continue;
+                        }
+
+                        int ao = Math.abs(m) >>> 8;
+                        int w = 1;
+                        if (level(ao, 0) == level(ao, 1) && level(ao, 3) == level(ao, 2)) {
+                            while (i + w < Chunk.SIZE && mask[n + w] == m) w++;
+                        }
+
+                        int h = 1;
+                        if (level(ao, 0) == level(ao, 3) && level(ao, 1) == level(ao, 2)) {
+                            grow:
+                            while (j + h < Chunk.SIZE) {
+                                for (int k = 0; k < w; k++) {
+                                    if (mask[n + k + h * Chunk.SIZE] != m) break grow;
+                                }
+                                h++;
+                            }
+                        }
+
+                        emitQuad(out, d, u, v, layer, i, j, w, h, m);
+
+                        for (int l = 0; l < h; l++) {
+                            for (int k = 0; k < w; k++) {
+                                mask[n + k + l * Chunk.SIZE] = 0;
+                            }
+                        }
+                        i += w;
+                        n += w;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Occlusion levels of the four corners of the face whose air cell is at {@code layer} along d and (i, j)
+     * along (u, v), two bits each in corner order (-u -v), (+u -v), (+u +v), (-u +v).
+     */
+    private int occlusion(short[] padded, int d, int u, int v, int layer, int i, int j) {
+        pos[d] = layer;
+        boolean uMinus = isSolid(padded, u, v, i - 1, j);
+        boolean uPlus = isSolid(padded, u, v, i + 1, j);
+        boolean vMinus = isSolid(padded, u, v, i, j - 1);
+        boolean vPlus = isSolid(padded, u, v, i, j + 1);
+        return level(uMinus, vMinus, isSolid(padded, u, v, i - 1, j - 1))
+            | level(uPlus, vMinus, isSolid(padded, u, v, i + 1, j - 1)) << 2
+            | level(uPlus, vPlus, isSolid(padded, u, v, i + 1, j + 1)) << 4
+            | level(uMinus, vPlus, isSolid(padded, u, v, i - 1, j + 1)) << 6;
+    }
+
+    private boolean isSolid(short[] padded, int u, int v, int i, int j) {
+        pos[u] = i;
+        pos[v] = j;
+        return padded[paddedIndex(pos[0], pos[1], pos[2])] != BlockRegistry.AIR;
+    }
+
+    // Two solid sides hide the corner completely, whatever the diagonal block is
+    private static int level(boolean side1, boolean side2, boolean corner) {
+        if (side1 && side2) return 0;
+        return 3 - (side1 ? 1 : 0) - (side2 ? 1 : 0) - (corner ? 1 : 0);
+    }
+
+    private static int level(int ao, int corner) {
+        return ao >>> (corner * 2) & 3;
+    }
+
+    private void emitQuad(ChunkMeshData out, int d, int u, int v, int layer, int i, int j, int w, int h, int m) {
+        boolean positive = m > 0;
+        short id = (short) (Math.abs(m) & 0xFF);
+        int ao = Math.abs(m) >>> 8;
+        FloatArray vertices = out.vertices;
+        ShortArray indices = out.indices;
+        float tileU = atlas.tileU(id);
+        float tileV = atlas.tileV(id);
+        int colorBase = (d * 2 + (positive ? 1 : 0)) * 4;
+
+        int base = vertices.size / VERTEX_SIZE;
+
+        // Corners in (u, v) offsets, counter-clockwise when seen from +d
+        for (int c = 0; c < 4; c++) {
+            int cu = (c == 1 || c == 2) ? w : 0;
+            int cv = (c == 2 || c == 3) ? h : 0;
+            pos[d] = layer;
+            pos[u] = i + cu;
+            pos[v] = j + cv;
+
+            // Keep textures upright on the side faces; the shader repeats the tile once per block
+            float s, t;
+            if (d == 1) {
+                s = cu;
+                t = cv;
+            } else if (d == 0) {
+                s = cv;
+                t = w - cu;
+            } else {
+                s = cu;
+                t = h - cv;
+            }
+
+            vertices.add(pos[0], pos[1], pos[2]);
+            vertices.add(colors[colorBase + level(ao, c)]);
+            vertices.add(s, t);
+            vertices.add(tileU, tileV);
+        }
+
+        // Split along the diagonal whose corners are darker together, so occlusion fades evenly across the quad
+        boolean flip = level(ao, 0) + level(ao, 2) > level(ao, 1) + level(ao, 3);
+        int a = flip ? 1 : 0;
+        if (positive) {
+            indices.add((short) (base + a), (short) (base + a + 1), (short) (base + a + 2));
+            indices.add((short) (base + a + 2), (short) (base + (a + 3) % 4), (short) (base + a));
+        } else {
+            indices.add((short) (base + a), (short) (base + (a + 3) % 4), (short) (base + a + 2));
+            indices.add((short) (base + a + 2), (short) (base + a + 1), (short) (base + a));
+        }
+        out.quadCount++;
+    }
+}
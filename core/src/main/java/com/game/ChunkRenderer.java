@@ -0,0 +1,42 @@
+package com.game;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.math.Frustum;
+
+/** Submits the meshes of the chunks inside the camera frustum to a {@link ModelBatch}, one renderable each. */
+public class ChunkRenderer {
+    private static final float HALF = Chunk.SIZE / 2f;
+
+    public final RenderStats stats = new RenderStats();
+
+    /** Renders the visible chunks; the batch must already be started with {@code camera}. */
+    public void render(ModelBatch batch, Camera camera, Shader shader, ChunkMap chunks) {
+        stats.reset();
+        for (Chunk chunk : chunks.values()) {
+            if (chunk.mesh == null || chunk.mesh.isEmpty()) {
+                if (chunk.isEmpty()) stats.chunksEmpty++;
+                else if (chunk.isFull()) stats.chunksHidden++;
+                continue;
+            }
+
+            stats.chunksTested++;
+            if (isVisible(camera.frustum, chunk)) {
+                batch.render(chunk.mesh, shader);
+                stats.chunksDrawn++;
+            } else {
+                stats.chunksCulled++;
+            }
+        }
+    }
+
+    /** Tests the chunk's bounding box against the frustum. Needs no GL context. */
+    public static boolean isVisible(Frustum frustum, Chunk chunk) {
+        // Blocks are centered on integer coordinates, so the chunk spans [origin - 0.5, origin + SIZE - 0.5]
+        float centerX = chunk.cx * Chunk.SIZE + HALF - 0.5f;
+        float centerY = chunk.cy * Chunk.SIZE + HALF - 0.5f;
+        float centerZ = chunk.cz * Chunk.SIZE + HALF - 0.5f;
+        return frustum.boundsInFrustum(centerX, centerY, centerZ, HALF, HALF, HALF);
+    }
+}
@@ -0,0 +1,184 @@
+package com.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the chunks around the player loaded. Columns within {@link #viewRadius} chunks of the player are
+ * generated nearest first, and chunks farther than {@link #unloadRadius} are dropped. The gap between the
+ * two radii keeps chunks from being reloaded when the player walks back and forth over a chunk border.
+ * <p>
+ * Chunks are generated and then get the player's edits from the {@link WorldStorage}, both on the
+ * {@link WorkerPool}. Finished chunks are handed back through a lock-free queue and only become visible in
+ * the {@link ChunkMap} when the render thread drains it in {@link #update}. The render thread is the only one
+ * changing the map, so it reads the map without locking; only adding and removing chunks hold {@code lock},
+ * which other threads hold while they read the map.
+ */
+public class ChunkStreamer {
+    public interface Listener {
+        void chunkLoaded(Chunk chunk);
+
+        void chunkUnloaded(Chunk chunk);
+    }
+
+    public final int viewRadius;
+    public final int unloadRadius;
+
+    private final ChunkMap chunks;
+    private final Object lock;
+    private final TerrainGenerator generator;
+    private final WorldStorage storage;
+    private final Listener listener;
+
+    private final Executor workers;
+    // Generation jobs in flight are capped so the nearest chunks are always queued first
+    private final int maxPending;
+    // Chunks handed to the workers, only touched by the render thread
+    private final LongMap<Chunk> pending = new LongMap<>();
+    private final ConcurrentLinkedQueue<Chunk> generated = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    // Block storage size of the chunks when they were added to the map, less their size when removed. Edits in
+    // between are counted by the simulation, see SimulationSnapshot.editedBlockBytes
+    private long blockBytes;
+    // Chunks removed from the map, handed to the listener once the lock is released
+    private final Array<Chunk> unloaded = new Array<>();
+
+    // Column offsets within the view radius as (dx, dz) pairs, sorted by distance
+    private final IntArray offsets = new IntArray();
+    private int centerX = Integer.MIN_VALUE;
+    private int centerZ = Integer.MIN_VALUE;
+    // Every offset before this index is loaded or pending around the current center
+    private int scanIndex;
+
+    public ChunkStreamer(ChunkMap chunks, Object lock, TerrainGenerator generator, WorldStorage storage, Listener listener,
+                         Executor workers, int threads, int viewRadius, int unloadRadius) {
+        if (unloadRadius < viewRadius) {
+            throw new IllegalArgumentException("unloadRadius must be at least viewRadius");
+        }
+        this.chunks = chunks;
+        this.lock = lock;
+        this.generator = generator;
+        this.storage = storage;
+        this.listener = listener;
+        this.viewRadius = viewRadius;
+        this.unloadRadius = unloadRadius;
+
+        this.workers = workers;
+        this.maxPending = threads * 4;
+
+        for (int r = 0; r <= viewRadius; r++) {
+            for (int dz = -r; dz <= r; dz++) {
+                for (int dx = -r; dx <= r; dx++) {
+                    // Only the ring at distance r, the inner rings were added before
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != r) continue;
+                    if (dx * dx + dz * dz > viewRadius * viewRadius) continue;
+                    offsets.add(dx);
+                    offsets.add(dz);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds finished chunks to the map until {@code deadline} (a {@link TimeUtils#nanoTime()} value) passes,
+     * then queues generation of missing chunks around the given world position.
+     */
+    public void update(float x, float z, long deadline) {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new GdxRuntimeException("Chunk generation failed", error);
+        }
+
+        int pcx = ChunkMap.toChunk((int) Math.floor(x));
+        int pcz = ChunkMap.toChunk((int) Math.floor(z));
+        if (pcx != centerX || pcz != centerZ) {
+            centerX = pcx;
+            centerZ = pcz;
+            scanIndex = 0;
+            unloadFarChunks();
+        }
+
+        Chunk chunk;
+        while ((chunk = generated.poll()) != null) {
+            pending.remove(chunk.key);
+            // The player may have moved away while the chunk was generated. A chunk already in the map holds
+            // the current blocks and is never replaced.
+            if (!isInUnloadRadius(chunk) || chunks.contains(chunk.key)) continue;
+
+            // Read before other threads can edit it
+            blockBytes += chunk.storageBytes();
+            synchronized (lock) {
+                chunks.put(chunk);
+            }
+            listener.chunkLoaded(chunk);
+            if (TimeUtils.nanoTime() >= deadline) break;
+        }
+
+        while (scanIndex < offsets.size && pending.size < maxPending) {
+            int cx = centerX + offsets.get(scanIndex);
+            int cz = centerZ + offsets.get(scanIndex + 1);
+            for (int cy = TerrainGenerator.MIN_CHUNK_Y; cy <= TerrainGenerator.MAX_CHUNK_Y; cy++) {
+                long key = ChunkMap.key(cx, cy, cz);
+                if (chunks.contains(key) || pending.containsKey(key)) continue;
+                submit(new Chunk(cx, cy, cz));
+            }
+            scanIndex += 2;
+        }
+    }
+
+    private void submit(final Chunk chunk) {
+        pending.put(chunk.key, chunk);
+        workers.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    generator.generate(chunk);
+                    storage.applyEdits(chunk);
+                    generated.add(chunk);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }
+        });
+    }
+
+    /** Block storage size of the loaded chunks apart from the edits made since they were loaded, see above. */
+    public long blockBytes() {
+        return blockBytes;
+    }
+
+    public int pendingCount() {
+        return pending.size;
+    }
+
+    private boolean isInUnloadRadius(Chunk chunk) {
+        return Math.abs(chunk.cx - centerX) <= unloadRadius && Math.abs(chunk.cz - centerZ) <= unloadRadius;
+    }
+
+    private void unloadFarChunks() {
+        synchronized (lock) {
+            LongMap.Values<Chunk> values = chunks.values();
+            while (values.hasNext()) {
+                Chunk chunk = values.next();
+                if (!isInUnloadRadius(chunk)) {
+                    values.remove();
+                    unloaded.add(chunk);
+                }
+            }
+        }
+        // Out of the map, so no other thread reaches these chunks any more
+        for (int i = 0; i < unloaded.size; i++) {
+            Chunk chunk = unloaded.get(i);
+            blockBytes -= chunk.storageBytes();
+            listener.chunkUnloaded(chunk);
+        }
+        unloaded.clear();
+    }
+}
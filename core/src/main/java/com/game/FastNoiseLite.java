@@ -400,6 +400,203 @@ public class FastNoiseLite
         }
     }
 
+    /// <summary>
+    /// Fills out with 2D noise sampled on a uniform grid using current settings
+    /// </summary>
+    /// <remarks>
+    /// out[j * width + i] is bit-identical to GetNoise(xStart + i * step, yStart + j * step).
+    /// Setting dispatch happens once per grid instead of once per sample, and Perlin noise
+    /// reuses the lattice hashes of neighbouring samples that fall in the same cell.
+    /// Perlin, OpenSimplex2 and Cellular noise without fractals run on the Vector API when it is available
+    /// </remarks>
+    public void GenUniformGrid2D(float[] out, /*FNLfloat*/ float xStart, /*FNLfloat*/ float yStart, int width, int height, /*FNLfloat*/ float step)
+    {
+        if (width < 0 || height < 0 || out.length < width * height)
+            throw new IllegalArgumentException("Output array too small for a " + width + "x" + height + " grid");
+
+        FractalType fractalType = mFractalType;
+        boolean fractal = fractalType == FractalType.FBm || fractalType == FractalType.Ridged || fractalType == FractalType.PingPong;
+
+        if (!fractal && mNoiseType == NoiseType.Perlin)
+        {
+            GenPerlinGrid2D(out, xStart, yStart, width, height, step);
+            return;
+        }
+
+        if (!fractal && VectorKernel != null)
+        {
+            switch (mNoiseType)
+            {
+                case OpenSimplex2:
+                    VectorKernel.simplex2D(out, mSeed, mFrequency, xStart, yStart, width, height, step);
+                    return;
+                case Cellular:
+                    VectorKernel.cellular2D(out, mSeed, mFrequency, mCellularJitterModifier, mCellularDistanceFunction,
+                        mCellularReturnType, xStart, yStart, width, height, step);
+                    return;
+                default:
+                    break;
+            }
+        }
+
+        final /*FNLfloat*/ float SQRT3 = (/*FNLfloat*/ float)1.7320508075688772935274463415059;
+        final /*FNLfloat*/ float F2 = 0.5f * (SQRT3 - 1);
+        boolean skew = mNoiseType == NoiseType.OpenSimplex2 || mNoiseType == NoiseType.OpenSimplex2S;
+        float frequency = mFrequency;
+        int seed = mSeed;
+        int index = 0;
+
+        for (int j = 0; j < height; j++)
+        {
+            /*FNLfloat*/ float yIn = yStart + j * step;
+
+            for (int i = 0; i < width; i++)
+            {
+                /*FNLfloat*/ float x = (xStart + i * step) * frequency;
+                /*FNLfloat*/ float y = yIn * frequency;
+
+                if (skew)
+                {
+                    /*FNLfloat*/ float t = (x + y) * F2;
+                    x += t;
+                    y += t;
+                }
+
+                switch (fractalType)
+                {
+                    default:
+                        out[index++] = GenNoiseSingle(seed, x, y);
+                        break;
+                    case FBm:
+                        out[index++] = GenFractalFBm(x, y);
+                        break;
+                    case Ridged:
+                        out[index++] = GenFractalRidged(x, y);
+                        break;
+                    case PingPong:
+                        out[index++] = GenFractalPingPong(x, y);
+                        break;
+                }
+            }
+        }
+    }
+
+    /// <summary>
+    /// Fills out with 3D noise sampled on a uniform grid using current settings
+    /// </summary>
+    /// <remarks>
+    /// out[(k * height + j) * width + i] is bit-identical to GetNoise(xStart + i * step, yStart + j * step, zStart + k * step)
+    /// </remarks>
+    public void GenUniformGrid3D(float[] out, /*FNLfloat*/ float xStart, /*FNLfloat*/ float yStart, /*FNLfloat*/ float zStart,
+                                 int width, int height, int depth, /*FNLfloat*/ float step)
+    {
+        if (width < 0 || height < 0 || depth < 0 || out.length < width * height * depth)
+            throw new IllegalArgumentException("Output array too small for a " + width + "x" + height + "x" + depth + " grid");
+
+        FractalType fractalType = mFractalType;
+        boolean fractal = fractalType == FractalType.FBm || fractalType == FractalType.Ridged || fractalType == FractalType.PingPong;
+
+        if (!fractal && mNoiseType == NoiseType.Perlin && mTransformType3D == TransformType3D.None)
+        {
+            GenPerlinGrid3D(out, xStart, yStart, zStart, width, height, depth, step);
+            return;
+        }
+
+        if (!fractal && VectorKernel != null && mNoiseType == NoiseType.Cellular && mTransformType3D == TransformType3D.None)
+        {
+            VectorKernel.cellular3D(out, mSeed, mFrequency, mCellularJitterModifier, mCellularDistanceFunction,
+                mCellularReturnType, xStart, yStart, zStart, width, height, depth, step);
+            return;
+        }
+
+        /*FNLfloat*/ float[] coord = new /*FNLfloat*/ float[3];
+        TransformType3D transformType = mTransformType3D;
+        float frequency = mFrequency;
+        int seed = mSeed;
+        int index = 0;
+
+        for (int k = 0; k < depth; k++)
+        {
+            /*FNLfloat*/ float zIn = zStart + k * step;
+
+            for (int j = 0; j < height; j++)
+            {
+                /*FNLfloat*/ float yIn = yStart + j * step;
+
+                for (int i = 0; i < width; i++)
+                {
+                    coord[0] = (xStart + i * step) * frequency;
+                    coord[1] = yIn * frequency;
+                    coord[2] = zIn * frequency;
+                    TransformCoordinate3D(transformType, coord);
+
+                    switch (fractalType)
+                    {
+                        default:
+                            out[index++] = GenNoiseSingle(seed, coord[0], coord[1], coord[2]);
+                            break;
+                        case FBm:
+                            out[index++] = GenFractalFBm(coord[0], coord[1], coord[2]);
+                            break;
+                        case Ridged:
+                            out[index++] = GenFractalRidged(coord[0], coord[1], coord[2]);
+                            break;
+                        case PingPong:
+                            out[index++] = GenFractalPingPong(coord[0], coord[1], coord[2]);
+                            break;
+                    }
+                }
+            }
+        }
+    }
+
+    // Same transform as GetNoise(x, y, z) applies after scaling by the frequency
+    private static void TransformCoordinate3D(TransformType3D transformType, /*FNLfloat*/ float[] coord)
+    {
+        /*FNLfloat*/ float x = coord[0];
+        /*FNLfloat*/ float y = coord[1];
+        /*FNLfloat*/ float z = coord[2];
+
+        switch (transformType)
+        {
+            case ImproveXYPlanes:
+            {
+                /*FNLfloat*/ float xy = x + y;
+                /*FNLfloat*/ float s2 = xy * -(/*FNLfloat*/ float)0.211324865405187;
+                z *= (/*FNLfloat*/ float)0.577350269189626;
+                x += s2 - z;
+                y = y + s2 - z;
+                z += xy * (/*FNLfloat*/ float)0.577350269189626;
+            }
+            break;
+            case ImproveXZPlanes:
+            {
+                /*FNLfloat*/ float xz = x + z;
+                /*FNLfloat*/ float s2 = xz * -(/*FNLfloat*/ float)0.211324865405187;
+                y *= (/*FNLfloat*/ float)0.577350269189626;
+                x += s2 - y;
+                z += s2 - y;
+                y += xz * (/*FNLfloat*/ float)0.577350269189626;
+            }
+            break;
+            case DefaultOpenSimplex2:
+            {
+                final /*FNLfloat*/ float R3 = (/*FNLfloat*/ float)(2.0 / 3.0);
+                /*FNLfloat*/ float r = (x + y + z) * R3; // Rotation, not skew
+                x = r - x;
+                y = r - y;
+                z = r - z;
+            }
+            break;
+            default:
+                break;
+        }
+
+        coord[0] = x;
+        coord[1] = y;
+        coord[2] = z;
+    }
+
 
     /// <summary>
     /// 2D warps the input position using current domain warp settings
@@ -450,7 +647,7 @@ public class FastNoiseLite
     }
 
 
-    private static final float[] Gradients2D = {
+    static final float[] Gradients2D = {
         0.130526192220052f,  0.99144486137381f,   0.38268343236509f,   0.923879532511287f,  0.608761429008721f,  0.793353340291235f,  0.793353340291235f,  0.608761429008721f,
         0.923879532511287f,  0.38268343236509f,   0.99144486137381f,   0.130526192220051f,  0.99144486137381f,  -0.130526192220051f,  0.923879532511287f, -0.38268343236509f,
         0.793353340291235f, -0.60876142900872f,   0.608761429008721f, -0.793353340291235f,  0.38268343236509f,  -0.923879532511287f,  0.130526192220052f, -0.99144486137381f,
@@ -485,7 +682,7 @@ public class FastNoiseLite
         -0.38268343236509f,  -0.923879532511287f, -0.923879532511287f, -0.38268343236509f,  -0.923879532511287f,  0.38268343236509f,  -0.38268343236509f,   0.923879532511287f,
     };
 
-    private static final float[] RandVecs2D = {
+    static final float[] RandVecs2D = {
         -0.2700222198f, -0.9628540911f, 0.3863092627f, -0.9223693152f, 0.04444859006f, -0.999011673f, -0.5992523158f, -0.8005602176f, -0.7819280288f, 0.6233687174f, 0.9464672271f, 0.3227999196f, -0.6514146797f, -0.7587218957f, 0.9378472289f, 0.347048376f,
         -0.8497875957f, -0.5271252623f, -0.879042592f, 0.4767432447f, -0.892300288f, -0.4514423508f, -0.379844434f, -0.9250503802f, -0.9951650832f, 0.0982163789f, 0.7724397808f, -0.6350880136f, 0.7573283322f, -0.6530343002f, -0.9928004525f, -0.119780055f,
         -0.0532665713f, 0.9985803285f, 0.9754253726f, -0.2203300762f, -0.7665018163f, 0.6422421394f, 0.991636706f, 0.1290606184f, -0.994696838f, 0.1028503788f, -0.5379205513f, -0.84299554f, 0.5022815471f, -0.8647041387f, 0.4559821461f, -0.8899889226f,
@@ -520,7 +717,7 @@ public class FastNoiseLite
         0.01426758847f, -0.9998982128f, -0.6734383991f, 0.7392433447f, 0.639412098f, -0.7688642071f, 0.9211571421f, 0.3891908523f, -0.146637214f, -0.9891903394f, -0.782318098f, 0.6228791163f, -0.5039610839f, -0.8637263605f, -0.7743120191f, -0.6328039957f,
     };
 
-    private static final float[] Gradients3D = {
+    static final float[] Gradients3D = {
         0, 1, 1, 0,  0,-1, 1, 0,  0, 1,-1, 0,  0,-1,-1, 0,
         1, 0, 1, 0, -1, 0, 1, 0,  1, 0,-1, 0, -1, 0,-1, 0,
         1, 1, 0, 0, -1, 1, 0, 0,  1,-1, 0, 0, -1,-1, 0, 0,
@@ -539,7 +736,7 @@ public class FastNoiseLite
         1, 1, 0, 0,  0,-1, 1, 0, -1, 1, 0, 0,  0,-1,-1, 0
     };
 
-    private static final float[] RandVecs3D = {
+    static final float[] RandVecs3D = {
         -0.7292736885f, -0.6618439697f, 0.1735581948f, 0, 0.790292081f, -0.5480887466f, -0.2739291014f, 0, 0.7217578935f, 0.6226212466f, -0.3023380997f, 0, 0.565683137f, -0.8208298145f, -0.0790000257f, 0, 0.760049034f, -0.5555979497f, -0.3370999617f, 0, 0.3713945616f, 0.5011264475f, 0.7816254623f, 0, -0.1277062463f, -0.4254438999f, -0.8959289049f, 0, -0.2881560924f, -0.5815838982f, 0.7607405838f, 0,
         0.5849561111f, -0.662820239f, -0.4674352136f, 0, 0.3307171178f, 0.0391653737f, 0.94291689f, 0, 0.8712121778f, -0.4113374369f, -0.2679381538f, 0, 0.580981015f, 0.7021915846f, 0.4115677815f, 0, 0.503756873f, 0.6330056931f, -0.5878203852f, 0, 0.4493712205f, 0.601390195f, 0.6606022552f, 0, -0.6878403724f, 0.09018890807f, -0.7202371714f, 0, -0.5958956522f, -0.6469350577f, 0.475797649f, 0,
         -0.5127052122f, 0.1946921978f, -0.8361987284f, 0, -0.9911507142f, -0.05410276466f, -0.1212153153f, 0, -0.2149721042f, 0.9720882117f, -0.09397607749f, 0, -0.7518650936f, -0.5428057603f, 0.3742469607f, 0, 0.5237068895f, 0.8516377189f, -0.02107817834f, 0, 0.6333504779f, 0.1926167129f, -0.7495104896f, 0, -0.06788241606f, 0.3998305789f, 0.9140719259f, 0, -0.5538628599f, -0.4729896695f, -0.6852128902f, 0,
@@ -1752,6 +1949,202 @@ public class FastNoiseLite
     }
 
 
+    // Vectorized grid kernels, implemented by VectorNoiseKernel in the Java 17 part of the multi-release jar.
+    // Each one fills the grid exactly like the scalar path for the same settings, without fractals or 3D transforms
+    interface GridKernel
+    {
+        void perlin2D(float[] out, int seed, float frequency, float xStart, float yStart, int width, int height, float step);
+
+        void perlin3D(float[] out, int seed, float frequency, float xStart, float yStart, float zStart,
+                      int width, int height, int depth, float step);
+
+        // OpenSimplex2, including the skew GetNoise applies
+        void simplex2D(float[] out, int seed, float frequency, float xStart, float yStart, int width, int height, float step);
+
+        void cellular2D(float[] out, int seed, float frequency, float jitterModifier,
+                        CellularDistanceFunction distanceFunction, CellularReturnType returnType,
+                        float xStart, float yStart, int width, int height, float step);
+
+        void cellular3D(float[] out, int seed, float frequency, float jitterModifier,
+                        CellularDistanceFunction distanceFunction, CellularReturnType returnType,
+                        float xStart, float yStart, float zStart, int width, int height, int depth, float step);
+    }
+
+    // Null when running on Java 8, without --add-modules jdk.incubator.vector, or with -Dnoise.vector=false
+    private static final GridKernel VectorKernel = LoadVectorKernel();
+
+    private static GridKernel LoadVectorKernel()
+    {
+        if ("false".equals(System.getProperty("noise.vector")))
+            return null;
+        try
+        {
+            return (GridKernel) Class.forName("com.game.VectorNoiseKernel").getDeclaredConstructor().newInstance();
+        }
+        catch (Exception | LinkageError e)
+        {
+            return null;
+        }
+    }
+
+    private static int GradIndex2D(int seed, int xPrimed, int yPrimed)
+    {
+        int hash = Hash(seed, xPrimed, yPrimed);
+        hash ^= hash >> 15;
+        return hash & (127 << 1);
+    }
+
+    private static float GradDot2D(int index, float xd, float yd)
+    {
+        return xd * Gradients2D[index] + yd * Gradients2D[index | 1];
+    }
+
+    private static int GradIndex3D(int seed, int xPrimed, int yPrimed, int zPrimed)
+    {
+        int hash = Hash(seed, xPrimed, yPrimed, zPrimed);
+        hash ^= hash >> 15;
+        return hash & (63 << 2);
+    }
+
+    private static float GradDot3D(int index, float xd, float yd, float zd)
+    {
+        return xd * Gradients3D[index] + yd * Gradients3D[index | 1] + zd * Gradients3D[index | 2];
+    }
+
+
+    // Perlin grid, same math as SinglePerlin with the corner gradients cached per lattice cell
+
+    private void GenPerlinGrid2D(float[] out, /*FNLfloat*/ float xStart, /*FNLfloat*/ float yStart, int width, int height, /*FNLfloat*/ float step)
+    {
+        int seed = mSeed;
+        float frequency = mFrequency;
+
+        if (VectorKernel != null)
+        {
+            VectorKernel.perlin2D(out, seed, frequency, xStart, yStart, width, height, step);
+            return;
+        }
+
+        int index = 0;
+
+        for (int j = 0; j < height; j++)
+        {
+            /*FNLfloat*/ float y = (yStart + j * step) * frequency;
+            int y0 = FastFloor(y);
+            float yd0 = (float)(y - y0);
+            float yd1 = yd0 - 1;
+            float ys = InterpQuintic(yd0);
+            y0 *= PrimeY;
+            int y1 = y0 + PrimeY;
+
+            int cellX = 0;
+            boolean cached = false;
+            int g00 = 0, g10 = 0, g01 = 0, g11 = 0;
+
+            for (int i = 0; i < width; i++)
+            {
+                /*FNLfloat*/ float x = (xStart + i * step) * frequency;
+                int x0 = FastFloor(x);
+                float xd0 = (float)(x - x0);
+                float xd1 = xd0 - 1;
+                float xs = InterpQuintic(xd0);
+
+                if (!cached || x0 != cellX)
+                {
+                    cellX = x0;
+                    cached = true;
+                    int x0p = x0 * PrimeX;
+                    int x1p = x0p + PrimeX;
+                    g00 = GradIndex2D(seed, x0p, y0);
+                    g10 = GradIndex2D(seed, x1p, y0);
+                    g01 = GradIndex2D(seed, x0p, y1);
+                    g11 = GradIndex2D(seed, x1p, y1);
+                }
+
+                float xf0 = Lerp(GradDot2D(g00, xd0, yd0), GradDot2D(g10, xd1, yd0), xs);
+                float xf1 = Lerp(GradDot2D(g01, xd0, yd1), GradDot2D(g11, xd1, yd1), xs);
+
+                out[index++] = Lerp(xf0, xf1, ys) * 1.4247691104677813f;
+            }
+        }
+    }
+
+    private void GenPerlinGrid3D(float[] out, /*FNLfloat*/ float xStart, /*FNLfloat*/ float yStart, /*FNLfloat*/ float zStart,
+                                 int width, int height, int depth, /*FNLfloat*/ float step)
+    {
+        int seed = mSeed;
+        float frequency = mFrequency;
+
+        if (VectorKernel != null)
+        {
+            VectorKernel.perlin3D(out, seed, frequency, xStart, yStart, zStart, width, height, depth, step);
+            return;
+        }
+
+        int index = 0;
+
+        for (int k = 0; k < depth; k++)
+        {
+            /*FNLfloat*/ float z = (zStart + k * step) * frequency;
+            int z0 = FastFloor(z);
+            float zd0 = (float)(z - z0);
+            float zd1 = zd0 - 1;
+            float zs = InterpQuintic(zd0);
+            z0 *= PrimeZ;
+            int z1 = z0 + PrimeZ;
+
+            for (int j = 0; j < height; j++)
+            {
+                /*FNLfloat*/ float y = (yStart + j * step) * frequency;
+                int y0 = FastFloor(y);
+                float yd0 = (float)(y - y0);
+                float yd1 = yd0 - 1;
+                float ys = InterpQuintic(yd0);
+                y0 *= PrimeY;
+                int y1 = y0 + PrimeY;
+
+                int cellX = 0;
+                boolean cached = false;
+                int g000 = 0, g100 = 0, g010 = 0, g110 = 0, g001 = 0, g101 = 0, g011 = 0, g111 = 0;
+
+                for (int i = 0; i < width; i++)
+                {
+                    /*FNLfloat*/ float x = (xStart + i * step) * frequency;
+                    int x0 = FastFloor(x);
+                    float xd0 = (float)(x - x0);
+                    float xd1 = xd0 - 1;
+                    float xs = InterpQuintic(xd0);
+
+                    if (!cached || x0 != cellX)
+                    {
+                        cellX = x0;
+                        cached = true;
+                        int x0p = x0 * PrimeX;
+                        int x1p = x0p + PrimeX;
+                        g000 = GradIndex3D(seed, x0p, y0, z0);
+                        g100 = GradIndex3D(seed, x1p, y0, z0);
+                        g010 = GradIndex3D(seed, x0p, y1, z0);
+                        g110 = GradIndex3D(seed, x1p, y1, z0);
+                        g001 = GradIndex3D(seed, x0p, y0, z1);
+                        g101 = GradIndex3D(seed, x1p, y0, z1);
+                        g011 = GradIndex3D(seed, x0p, y1, z1);
+                        g111 = GradIndex3D(seed, x1p, y1, z1);
+                    }
+
+                    float xf00 = Lerp(GradDot3D(g000, xd0, yd0, zd0), GradDot3D(g100, xd1, yd0, zd0), xs);
+                    float xf10 = Lerp(GradDot3D(g010, xd0, yd1, zd0), GradDot3D(g110, xd1, yd1, zd0), xs);
+                    float xf01 = Lerp(GradDot3D(g001, xd0, yd0, zd1), GradDot3D(g101, xd1, yd0, zd1), xs);
+                    float xf11 = Lerp(GradDot3D(g011, xd0, yd1, zd1), GradDot3D(g111, xd1, yd1, zd1), xs);
+
+                    float yf0 = Lerp(xf00, xf10, ys);
+                    float yf1 = Lerp(xf01, xf11, ys);
+
+                    out[index++] = Lerp(yf0, yf1, zs) * 0.964921414852142333984375f;
+                }
+            }
+        }
+    }
+
     // Value Cubic Noise
 
     private float SingleValueCubic(int seed, /*FNLfloat*/ float x, /*FNLfloat*/ float y)
@@ -0,0 +1,122 @@
+package com.game;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Times named sections of the frame with {@link System#nanoTime}. The time spent in each section during a frame
+ * is summed, so a section may be entered several times per frame, and recorded into a ring buffer holding the last
+ * {@link #FRAMES} frames. All buffers are allocated up front; recording never allocates.
+ * <p>
+ * Sections are added once with {@link #add} before the first frame. Not thread-safe: a profiler filled on another
+ * thread is read while holding a lock that the other thread also holds around {@link #endFrame}.
+ */
+public class FrameProfiler {
+    public static final int FRAMES = 600;
+    private static final int MAX_SECTIONS = 16;
+
+    private final String[] names = new String[MAX_SECTIONS];
+    private int sectionCount;
+
+    private final long[] started = new long[MAX_SECTIONS];
+    // Time of each section in the frame being recorded
+    private final long[] current = new long[MAX_SECTIONS];
+    // Recorded frames per section, oldest at index frame once the buffer has wrapped
+    private final long[][] samples = new long[MAX_SECTIONS][FRAMES];
+    private int frame;
+    private int frameCount;
+
+    // Results of the last computeStats(), in nanoseconds
+    public final long[] p50 = new long[MAX_SECTIONS];
+    public final long[] p99 = new long[MAX_SECTIONS];
+    public final long[] max = new long[MAX_SECTIONS];
+    private final long[] sorted = new long[FRAMES];
+
+    /** Adds a section and returns its id for {@link #start} and {@link #stop}. */
+    public int add(String name) {
+        if (sectionCount == MAX_SECTIONS) {
+            throw new IllegalStateException("Too many profiler sections");
+        }
+        names[sectionCount] = name;
+        return sectionCount++;
+    }
+
+    public int sectionCount() {
+        return sectionCount;
+    }
+
+    public String name(int section) {
+        return names[section];
+    }
+
+    public void start(int section) {
+        started[section] = System.nanoTime();
+    }
+
+    public void stop(int section) {
+        addTime(section, System.nanoTime() - started[section]);
+    }
+
+    /** Adds time measured elsewhere to the section in the frame being recorded. */
+    void addTime(int section, long nanos) {
+        current[section] += nanos;
+    }
+
+    /** Records the sections timed since the last call as one frame. */
+    public void endFrame() {
+        for (int i = 0; i < sectionCount; i++) {
+            samples[i][frame] = current[i];
+            current[i] = 0;
+        }
+        frame = (frame + 1) % FRAMES;
+        if (frameCount < FRAMES) frameCount++;
+    }
+
+    /** Number of frames in the buffer. */
+    public int frameCount() {
+        return frameCount;
+    }
+
+    /** Fills {@link #p50}, {@link #p99} and {@link #max} from the recorded frames. */
+    public void computeStats() {
+        for (int i = 0; i < sectionCount; i++) {
+            if (frameCount == 0) {
+                p50[i] = p99[i] = max[i] = 0;
+                continue;
+            }
+            System.arraycopy(samples[i], 0, sorted, 0, frameCount);
+            Arrays.sort(sorted, 0, frameCount);
+            p50[i] = percentile(0.5f);
+            p99[i] = percentile(0.99f);
+            max[i] = sorted[frameCount - 1];
+        }
+    }
+
+    /** Writes the recorded frames, oldest first, as CSV with one column of milliseconds per section. */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("frame");
+        for (int i = 0; i < sectionCount; i++) {
+            out.write(',');
+            out.write(names[i]);
+        }
+        out.write('\n');
+
+        int first = frameCount < FRAMES ? 0 : frame;
+        for (int f = 0; f < frameCount; f++) {
+            int index = (first + f) % FRAMES;
+            out.write(Integer.toString(f));
+            for (int i = 0; i < sectionCount; i++) {
+                out.write(',');
+                out.write(Double.toString(samples[i][index] / 1e6));
+            }
+            out.write('\n');
+        }
+    }
+
+    // Nearest rank of the sorted samples
+    private long percentile(float p) {
+        int rank = (int) Math.ceil(p * frameCount);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,66 @@
+package com.game;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of column heightmaps: the 16x16 terrain heights of a chunk column, indexed
+ * {@code lz * Chunk.SIZE + lx}. Every vertical chunk of a column shares one heightmap, and chunks that are
+ * streamed out and back in again do not sample the noise a second time. Safe to use from the generation workers.
+ */
+public class HeightmapCache {
+    public interface Source {
+        /** Fills {@code out} with the heights of the column at chunk coordinates (cx, cz). */
+        void sampleColumn(int cx, int cz, int[] out);
+    }
+
+    private final Source source;
+    private final LinkedHashMap<Long, int[]> columns;
+    private int hits, misses;
+
+    public HeightmapCache(Source source, final int capacity) {
+        this.source = source;
+        this.columns = new LinkedHashMap<Long, int[]>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Returns the heightmap of the column at chunk coordinates (cx, cz). The array must not be modified. */
+    public int[] get(int cx, int cz) {
+        Long key = ChunkMap.key(cx, 0, cz);
+        synchronized (this) {
+            int[] heights = columns.get(key);
+            if (heights != null) {
+                hits++;
+                return heights;
+            }
+            misses++;
+        }
+
+        // Sampled outside the lock so workers on other columns are not held up. Two workers on the same
+        // column may both sample it, which is harmless because the results are identical.
+        int[] heights = new int[Chunk.SIZE * Chunk.SIZE];
+        source.sampleColumn(cx, cz, heights);
+        synchronized (this) {
+            int[] existing = columns.get(key);
+            if (existing != null) return existing;
+            columns.put(key, heights);
+        }
+        return heights;
+    }
+
+    public synchronized int size() {
+        return columns.size();
+    }
+
+    public synchronized int hits() {
+        return hits;
+    }
+
+    public synchronized int misses() {
+        return misses;
+    }
+}
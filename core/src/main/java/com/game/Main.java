@@ -2,54 +2,108 @@ package com.game;
 
 import com.badlogic.gdx.*;
 import com.badlogic.gdx.graphics.*;
-import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g3d.Environment;
-import com.badlogic.gdx.graphics.g3d.Model;
-import com.badlogic.gdx.graphics.g3d.ModelInstance;
 import com.badlogic.gdx.graphics.g3d.ModelBatch;
 import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
-import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
-import com.badlogic.gdx.graphics.g3d.Material;
-import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 
-
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /** {@link com.badlogic.gdx.ApplicationListener} implementation shared by all platforms. */
-public class Main extends ApplicationAdapter {
+public class Main extends ApplicationAdapter implements BlockAccess, ChunkStreamer.Listener {
     ModelBatch modelBatch;
-    Model model;
-    Model grassModel;
+    ChunkRenderer chunkRenderer = new ChunkRenderer();
+    BlockRegistry blockRegistry = new BlockRegistry();
+    BlockAtlas blockAtlas;
+    TerrainShader terrainShader;
     Environment environment;
     float sensitivity = 0.2f;
 
     Stage stage;
     Image crosshair;
-
-    float gravity = 18f;
-
+    BitmapFont font;
+    Label statsLabel;
+    final StringBuilder statsText = new StringBuilder();
+
+    // Frame time per subsystem, shown with F3 and written to a CSV file with F4
+    FrameProfiler frameProfiler = new FrameProfiler();
+    final int profileFrame = frameProfiler.add("frame");
+    final int profileInput = frameProfiler.add("input");
+    final int profileChunks = frameProfiler.add("chunks");
+    final int profileRender = frameProfiler.add("render");
+    final int profileUi = frameProfiler.add("ui");
+    Label profilerLabel;
+    final StringBuilder profilerText = new StringBuilder();
+    float profilerRefresh;
+
+    // Ticks caught up at once at most, after a longer stall the simulation falls behind instead of spiralling
+    static final int MAX_TICKS_BEHIND = 5;
+    Simulation simulation;
+    SimulationThread simulationThread;
+    final PlayerInput input = new PlayerInput();
+    // Guards the chunk map and block data against changes while the other thread reads them. The render thread
+    // is the only one adding and removing chunks and the simulation thread the only one editing blocks, so each
+    // locks only to change its part or to read the other's: a tick holds it throughout, the render thread while
+    // it adds or removes chunks and snapshots blocks for meshing. Uploads and culling run without it.
+    final Object worldLock = new Object();
+    // Last snapshot published by the simulation thread that the render thread has seen
+    SimulationSnapshot snapshot;
+
+    // The player belongs to the simulation thread, the camera following it to the render thread
     Player player;
-
-    boolean fly = false;
-
-    FastNoiseLite noise = new FastNoiseLite();
-
-    // Using a HashMap to store chunks (each identified by its integer coordinates)
-    HashMap<Vector3, Chunk> chunks = new HashMap<>();
+    PerspectiveCamera camera;
+    // Scratch vector of the mouse look, reused every frame so a frame does not allocate
+    final Vector3 lookAxis = new Vector3();
+
+    // Shared read-only by all terrain workers
+    NoiseConfig noise = NoiseConfig.builder()
+        .noiseType(FastNoiseLite.NoiseType.Perlin)
+        .frequency(0.02f)
+        .build();
+
+    // Chunks keyed by their packed integer chunk coordinates
+    ChunkMap chunks = new ChunkMap();
+    TerrainGenerator terrain;
+    ChunkStreamer streamer;
+    ChunkMeshPipeline meshPipeline;
+    ExecutorService workers;
+    // Edits of the player are saved here when their chunk is unloaded and on exit
+    WorldStorage storage;
+
+    int viewRadius = 12;
+    int unloadRadius = 14;
+    // Time per frame spent on adding generated chunks and queueing mesh jobs
+    long streamingBudgetNanos = 4_000_000L;
+    // Mesh data uploaded to the GPU per frame, at least one chunk is uploaded per frame
+    int uploadBudgetBytes = 1024 * 1024;
 
     @Override
     public void create() {
         player = new Player(new Vector3(0,50,0));
+        camera = new PerspectiveCamera(67,Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        camera.position.set(player.position);
+        camera.near = 0.1f;
+        camera.far = 1000f;
+        camera.update();
 
         crosshair = new Image(new Texture("grass.jpg"));
         crosshair.setSize(40,40);
@@ -63,246 +117,291 @@ public class Main extends ApplicationAdapter {
 
         stage.addActor(crosshair);
 
+        font = new BitmapFont();
+        statsLabel = new Label("", new Label.LabelStyle(font, Color.WHITE));
+        statsLabel.setPosition(10, Gdx.graphics.getHeight() - 20);
+        stage.addActor(statsLabel);
+        profilerLabel = new Label("", new Label.LabelStyle(font, Color.WHITE));
+        profilerLabel.setVisible(false);
+        stage.addActor(profilerLabel);
 
-        // Set up lighting/environment
+        // Lighting is baked into the chunk meshes
         environment = new Environment();
         environment.set(new ColorAttribute(ColorAttribute.AmbientLight, 0.4f, 0.4f, 0.4f, 1f));
         environment.add(new DirectionalLight().set(1f, 1f, 1f, -1f, -0.8f, -0.2f));
 
-        // Create a material with a texture
-        Material material = new Material();
-        Texture texture = new Texture("stone.jpg");
-        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
-        material.set(TextureAttribute.createDiffuse(texture));
-
-        Material grassMaterial = new Material();
-        Texture grassTexture = new Texture("grass.jpg");
-        grassTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
-        grassMaterial.set(TextureAttribute.createDiffuse(grassTexture));
-
-        model = createTexturedCube(material);
-        grassModel = createTexturedCube(grassMaterial);
-
-        noise.SetNoiseType(FastNoiseLite.NoiseType.Perlin);
-        noise.SetFrequency(0.02f);
-
-        // Generate blocks in a 300x300 grid and assign them to chunks
-        for (int i = 0; i < 100; i++) {
-            for (int e = 0; e < 100; e++) {
-                for(int v = 0; v<=(int) (noise.GetNoise(i, e) * 40)+15;v++){
-                    Vector3 blockPos = new Vector3(i, v, e);
-
-                    // Get or create the chunk for this block position
-
-                    Chunk chunk = getOrCreateChunk(i, v, e);
-                    ModelInstance blockInstance;
-                    // Create a new block instance and set its translation
-                    if(v == (int) (noise.GetNoise(i, e) * 40)+15){
-                        blockInstance = new ModelInstance(grassModel);
-                    }else{
-                        blockInstance = new ModelInstance(model);
-                    }
-
-                    blockInstance.transform.setToTranslation(blockPos);
-
-                    // Store the block in the chunk using its integer coordinates as key
-                    // (We create a new Vector3 with integer values to avoid precision issues)
-                    chunk.blocks.put(blockPos, blockInstance);
-
-
-                }
-            }
-        }
-
-        // Build the model caches for all chunks after initialization
-        for (Chunk chunk : chunks.values()) {
-            chunk.rebuildCache();
-        }
+        blockRegistry.register(BlockRegistry.STONE, "stone", "stone.jpg");
+        blockRegistry.register(BlockRegistry.GRASS, "grass", "grass.jpg");
+        // Every block samples one texture, so each chunk is a single draw call
+        blockAtlas = new BlockAtlas(blockRegistry);
+        terrainShader = new TerrainShader(blockAtlas);
+
+        int threads = WorkerPool.defaultThreads();
+        workers = WorkerPool.create("chunk-worker", threads);
+        // Enough heightmaps for every column up to the unload radius
+        int cachedColumns = (2 * unloadRadius + 1) * (2 * unloadRadius + 1);
+        storage = new WorldStorage(Gdx.files.local("world").file(), blockRegistry);
+        terrain = new TerrainGenerator(noise, cachedColumns);
+        streamer = new ChunkStreamer(chunks, worldLock, terrain, storage, this, workers, threads,
+            viewRadius, unloadRadius);
+        meshPipeline = new ChunkMeshPipeline(chunks, worldLock, this, blockAtlas, environment, workers, threads);
+
+        // Start generating around the spawn point, the player is held in place until the ground below is loaded
+        streamer.update(player.position.x, player.position.z, TimeUtils.nanoTime());
 
         modelBatch = new ModelBatch();
         Gdx.input.setCursorCatched(true);
+
+        input.setLook(camera.direction);
+        simulation = new Simulation(chunks, worldLock, player, input, TimeUtils.nanoTime());
+        snapshot = simulation.first();
+        simulationThread = new SimulationThread("simulation", simulation, Simulation.TICK_NANOS, MAX_TICKS_BEHIND);
+        simulationThread.start();
     }
 
     @Override
     public void render() {
+        frameProfiler.start(profileFrame);
+
         // Clear the screen
         Gdx.gl.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         Gdx.gl.glClearColor(0.7f, 0.9f, 1.0f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
 
-        // Update camera based on mouse and keyboard input
-        handleMouseInput();
-        handleKeyboardInput(Gdx.graphics.getDeltaTime());
-        if(!fly){
-            handleGravity(Gdx.graphics.getDeltaTime());
-        }
+        simulationThread.checkFailure();
 
-
-        // Handle left-click for block breaking
-        if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-            ModelInstance targetBlock = getTargetedBlock(5.0f);
-            if (targetBlock != null) {
-                // Get block position (rounded to integer grid coordinates)
-                Vector3 blockPos = targetBlock.transform.getTranslation(new Vector3());
-                int bx = Math.round(blockPos.x);
-                int by = Math.round(blockPos.y);
-                int bz = Math.round(blockPos.z);
-
-
-                Chunk chunk = getChunkAt(bx, by, bz);
-                if (chunk != null) {
-                    // Remove block from chunk and update only that chunk's cache
-                    if (chunk.blocks.remove(new Vector3(bx, by, bz)) != null) {
-                        chunk.rebuildCache();
-                    }
-                }
-            }
-        }
-
-        // Render each chunk's cached model
-        modelBatch.begin(player.camera);
-        for (Chunk chunk : chunks.values()) {
-            modelBatch.render(chunk.modelCache, environment);
-        }
+        // Mouse look is applied right away, everything else is passed on to the simulation thread
+        frameProfiler.start(profileInput);
+        handleMouseInput();
+        sampleInput();
+        handleProfilerKeys();
+        frameProfiler.stop(profileInput);
+
+        // Load chunks around the player and mesh them within the frame budget
+        frameProfiler.start(profileChunks);
+        consumeSnapshots();
+        long streamingStart = TimeUtils.nanoTime();
+        streamer.update(snapshot.x, snapshot.z, streamingStart + streamingBudgetNanos / 2);
+        meshPipeline.update(streamingStart + streamingBudgetNanos, uploadBudgetBytes);
+        frameProfiler.stop(profileChunks);
+        placeCamera(TimeUtils.nanoTime());
+
+        // Render the meshes of the chunks in view. The camera moved and turned since the last frame,
+        // so refresh the matrices and frustum before culling against them
+        frameProfiler.start(profileRender);
+        camera.update();
+        modelBatch.begin(camera);
+        chunkRenderer.render(modelBatch, camera, terrainShader, chunks);
         modelBatch.end();
+        frameProfiler.stop(profileRender);
 
+        frameProfiler.start(profileUi);
+        updateStats();
+        updateProfilerOverlay(Gdx.graphics.getDeltaTime());
         stage.getViewport().apply(true);
         stage.act();
         stage.draw();
-    }
+        frameProfiler.stop(profileUi);
 
-    void handleMouseInput() {
-        float deltaX = -Gdx.input.getDeltaX() * sensitivity;
-        float deltaY = -Gdx.input.getDeltaY() * sensitivity;
+        frameProfiler.stop(profileFrame);
+        frameProfiler.endFrame();
+    }
 
-        player.camera.direction.rotate(player.camera.up, deltaX);
-        player.camera.direction.rotate(player.camera.direction.cpy().crs(player.camera.up), deltaY);
+    void updateStats() {
+        RenderStats stats = chunkRenderer.stats;
+        statsText.setLength(0);
+        statsText.append("FPS ").append(Gdx.graphics.getFramesPerSecond())
+            .append("  chunks ").append(stats.chunksDrawn).append(" drawn, ").append(stats.chunksCulled).append(" culled, ")
+            .append(stats.chunksEmpty).append(" empty, ").append(stats.chunksHidden).append(" hidden")
+            // Every drawn chunk is one draw call, the terrain needs no others
+            .append("  draw calls ").append(stats.chunksDrawn)
+            .append("\nworld ").append(chunks.size()).append(" chunks loaded, ")
+            .append(streamer.pendingCount()).append(" generating, ")
+            .append(meshPipeline.dirtyCount()).append(" to mesh, ").append(meshPipeline.inFlightCount()).append(" meshing");
+        // Kept as a running total, so the render thread never waits for a tick to walk the chunks
+        long blockBytes = streamer.blockBytes() + snapshot.editedBlockBytes;
+        statsText.append("  blocks ").append(blockBytes / 1024).append(" KiB");
+        HeightmapCache heightmaps = terrain.heightmaps;
+        int hits = heightmaps.hits();
+        int lookups = hits + heightmaps.misses();
+        statsText.append("  heightmaps ").append(heightmaps.size()).append(" cached, ")
+            .append(lookups == 0 ? 0 : (int) (100L * hits / lookups)).append("% hits");
+        int corrupt = storage.corruptChunkCount();
+        if (corrupt > 0) statsText.append("  ").append(corrupt).append(" damaged saved chunks discarded");
+        statsLabel.setText(statsText);
     }
 
-    void handleKeyboardInput(float deltaTime) {
-        Vector3 forward = new Vector3(player.camera.direction.x, 0, player.camera.direction.z).nor();
-        Vector3 right = new Vector3(player.camera.direction).crs(player.camera.up).nor();
-        Vector3 up = new Vector3(0, 1, 0);
-        Vector3 moveDirection = new Vector3();
-        if (Gdx.input.isKeyPressed(Input.Keys.W)) moveDirection.add(forward);
-        if (Gdx.input.isKeyPressed(Input.Keys.S)) moveDirection.sub(forward);
-        if (Gdx.input.isKeyPressed(Input.Keys.A)) moveDirection.sub(right);
-        if (Gdx.input.isKeyPressed(Input.Keys.D)) moveDirection.add(right);
-        if(fly){
-            if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) moveDirection.add(up);
-            if (Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT)) moveDirection.sub(up);
-        }else {
-            if (Gdx.input.isKeyPressed(Input.Keys.SPACE)&& player.onGround){
-                player.verticalVelocity = 7f;
-                player.onGround = false;
+    /** Catches up with the snapshots published since the last frame. */
+    void consumeSnapshots() {
+        SimulationSnapshot next;
+        while ((next = snapshot.next) != null) {
+            snapshot = next;
+            IntArray changed = snapshot.changedBlocks;
+            for (int i = 0; i < changed.size; i += 3) {
+                meshPipeline.markBlockChanged(changed.get(i), changed.get(i + 1), changed.get(i + 2));
             }
         }
+        simulation.release(snapshot);
+    }
 
-        moveDirection.nor().scl(10f);
-        moveDirection.scl(deltaTime);
+    /** Places the camera between the last two ticks, by the time passed since the last one. */
+    void placeCamera(long now) {
+        float alpha = MathUtils.clamp((now - snapshot.time) / (float) Simulation.TICK_NANOS, 0f, 1f);
+        camera.position.set(
+            MathUtils.lerp(snapshot.previousX, snapshot.x, alpha),
+            MathUtils.lerp(snapshot.previousY, snapshot.y, alpha),
+            MathUtils.lerp(snapshot.previousZ, snapshot.z, alpha));
+    }
 
-        Vector3 newPosition = new Vector3(player.camera.position).add(moveDirection);
+    void sampleInput() {
+        input.forward = Gdx.input.isKeyPressed(Input.Keys.W);
+        input.back = Gdx.input.isKeyPressed(Input.Keys.S);
+        input.left = Gdx.input.isKeyPressed(Input.Keys.A);
+        input.right = Gdx.input.isKeyPressed(Input.Keys.D);
+        input.up = Gdx.input.isKeyPressed(Input.Keys.SPACE);
+        input.down = Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT);
+        input.setLook(camera.direction);
+        if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) input.breakClicks.incrementAndGet();
+        if (Gdx.input.isButtonJustPressed(Input.Buttons.RIGHT)) input.placeClicks.incrementAndGet();
+    }
 
-        if(canWalkThere(newPosition, player.camera.position)){
-            player.setPosition(newPosition);
+    void handleProfilerKeys() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            profilerLabel.setVisible(!profilerLabel.isVisible());
+            profilerRefresh = 0;
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            writeProfile();
         }
     }
 
-    @Override
-    public void dispose() {
-        modelBatch.dispose();
-        model.dispose();
-        for (Chunk chunk : chunks.values()) {
-            chunk.modelCache.dispose();
+    /** Shows the p50, p99 and max time of each profiler section per frame and per tick, refreshed twice a second. */
+    void updateProfilerOverlay(float deltaTime) {
+        if (!profilerLabel.isVisible()) return;
+        profilerRefresh -= deltaTime;
+        if (profilerRefresh > 0) return;
+        profilerRefresh = 0.5f;
+
+        profilerText.setLength(0);
+        frameProfiler.computeStats();
+        appendStats(profilerText, frameProfiler, " frames");
+        FrameProfiler ticks = simulation.profiler;
+        synchronized (ticks) {
+            ticks.computeStats();
         }
+        profilerText.append('\n');
+        appendStats(profilerText, ticks, " ticks");
+        profilerLabel.setText(profilerText);
+        profilerLabel.setSize(profilerLabel.getPrefWidth(), profilerLabel.getPrefHeight());
+        profilerLabel.setPosition(10, Gdx.graphics.getHeight() - 30 - profilerLabel.getPrefHeight());
     }
 
-    void handleGravity(float deltaTime){
-        player.verticalVelocity -= gravity*deltaTime;
-
-        Vector3 newPosition = new Vector3(player.camera.position).add(new Vector3(0,player.verticalVelocity*deltaTime,0));
-
-        if(canWalkThere(newPosition, player.camera.position)){
-            player.setPosition(newPosition);
-            player.onGround = false;
-        }else {
-            player.verticalVelocity = 0;
-            player.onGround = true;
+    // Results of the profiler's last computeStats()
+    static void appendStats(StringBuilder out, FrameProfiler profiler, String unit) {
+        out.append("ms over ").append(profiler.frameCount()).append(unit).append(": p50 / p99 / max");
+        for (int i = 0; i < profiler.sectionCount(); i++) {
+            out.append('\n').append(profiler.name(i)).append("  ");
+            appendMillis(out, profiler.p50[i]);
+            out.append(" / ");
+            appendMillis(out, profiler.p99[i]);
+            out.append(" / ");
+            appendMillis(out, profiler.max[i]);
         }
     }
 
-    boolean canWalkThere(Vector3 newPosition, Vector3 oldPosition){
-
-        player.setOnlyBox(newPosition);
-
-        BoundingBox boundingBox = new BoundingBox();
-
-        for(Map.Entry<Vector3, Chunk> entry : chunks.entrySet()){
-            for (Vector3 blockPos : entry.getValue().blocks.keySet()){
-                Vector3 halfSize = new Vector3(0.5f, 0.5f, 0.5f);
+    // Two decimals without going through String.format, which allocates
+    static void appendMillis(StringBuilder out, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        out.append(hundredths / 100).append('.');
+        int fraction = (int) (hundredths % 100);
+        if (fraction < 10) out.append('0');
+        out.append(fraction);
+    }
 
-                // compute min and max without touching blockPos:
-                Vector3 min = blockPos.cpy().sub(halfSize);
-                Vector3 max = blockPos.cpy().add(halfSize);
+    /** Writes the frames to profile-<millis>.csv and the ticks to profile-<millis>-ticks.csv. */
+    void writeProfile() {
+        long millis = TimeUtils.millis();
+        FileHandle file = Gdx.files.local("profile-" + millis + ".csv");
+        try (Writer writer = file.writer(false)) {
+            frameProfiler.writeCsv(writer);
+            Gdx.app.log("Profiler", "Wrote " + frameProfiler.frameCount() + " frames to " + file.path());
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("Profiler", "Cannot write " + file.path(), e);
+        }
 
-                boundingBox.set(min, max);
-                if (boundingBox.intersects(player.playerBox)) {
-                    return false;
-                }
+        // Copied out first, so the simulation thread does not wait for the file
+        FrameProfiler tickProfiler = simulation.profiler;
+        StringWriter ticks = new StringWriter();
+        int tickCount;
+        synchronized (tickProfiler) {
+            tickCount = tickProfiler.frameCount();
+            try {
+                tickProfiler.writeCsv(ticks);
+            } catch (IOException e) {
+                throw new GdxRuntimeException(e);
             }
         }
-
-        player.setOnlyBox(oldPosition);
-
-        return true;
+        file = Gdx.files.local("profile-" + millis + "-ticks.csv");
+        try {
+            file.writeString(ticks.toString(), false);
+            Gdx.app.log("Profiler", "Wrote " + tickCount + " ticks to " + file.path());
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("Profiler", "Cannot write " + file.path(), e);
+        }
     }
 
-    ModelInstance getTargetedBlock(float maxDistance) {
-        Vector3 rayStart = new Vector3(player.camera.position);
-        Vector3 rayDirection = new Vector3(player.camera.direction).nor();
-
-        // Step along the ray in small increments
-        for (float d = 0; d < maxDistance; d += 0.1f) {
-            Vector3 point = new Vector3(rayStart).mulAdd(rayDirection, d);
+    void handleMouseInput() {
+        float deltaX = -Gdx.input.getDeltaX() * sensitivity;
+        float deltaY = -Gdx.input.getDeltaY() * sensitivity;
 
-            int x = Math.round(point.x);
-            int y = Math.round(point.y);
-            int z = Math.round(point.z);
+        camera.direction.rotate(camera.up, deltaX);
+        camera.direction.rotate(lookAxis.set(camera.direction).crs(camera.up), deltaY);
+    }
 
-            Chunk chunk = getChunkAt(x, y, z);
-            if (chunk != null) {
-                Vector3 key = new Vector3(x, y, z);
-                if (chunk.blocks.containsKey(key)) {
-                    return chunk.blocks.get(key);
-                }
+    @Override
+    public void dispose() {
+        // Stopped first, the world is only touched by this thread from here on
+        simulationThread.stop();
+        // Lets the few queued jobs finish rather than interrupting them, an interrupt during a region read closes
+        // the file channel for all threads
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                Gdx.app.error("Main", "Timed out waiting for chunk workers");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        modelBatch.dispose();
+        terrainShader.dispose();
+        blockAtlas.dispose();
+        font.dispose();
+        try {
+            for (Chunk chunk : chunks.values()) {
+                if (chunk.modified) storage.save(chunk);
+                chunk.dispose();
+            }
+        } finally {
+            // Waits for the queued saves and reports a failed one
+            storage.dispose();
         }
-        return null;
     }
 
-
-    Model createTexturedCube(Material material) {
-
-        ModelBuilder modelBuilder = new ModelBuilder();
-        return modelBuilder.createBox(1f, 1f, 1f, material,
-            VertexAttributes.Usage.Position | VertexAttributes.Usage.Normal | VertexAttributes.Usage.TextureCoordinates);
+    @Override
+    public void chunkLoaded(Chunk chunk) {
+        // Faces and corner occlusion towards the new chunk change, so its loaded neighbours need a new mesh too
+        meshPipeline.markChunkLoaded(chunk);
     }
 
-    public Chunk getChunkAt(int x, int y, int z) {
-        int cx = x / 16;
-        int cy = y / 16;
-        int cz = z / 16;
-        // Using integer-based coordinates for chunk key
-        Vector3 chunkPos = new Vector3(cx, cy, cz);
-        return chunks.get(chunkPos);
+    @Override
+    public void chunkUnloaded(Chunk chunk) {
+        if (chunk.modified) storage.save(chunk);
+        chunk.dispose();
     }
 
-    public Chunk getOrCreateChunk(int x, int y, int z) {
-        int cx = x / 16;
-        int cy = y / 16;
-        int cz = z / 16;
-        Vector3 chunkPos = new Vector3(cx, cy, cz);
-        return chunks.computeIfAbsent(chunkPos, k -> new Chunk(new Vector3(cx, cy, cz)));
+    @Override
+    public short getBlock(int x, int y, int z) {
+        return chunks.getBlock(x, y, z);
     }
 
 }
@@ -0,0 +1,170 @@
+package com.game;
+
+/**
+ * Immutable noise settings with pure sample methods, safe to share between any number of threads.
+ * Built once with {@link #builder()}. The wrapped {@link FastNoiseLite} is configured in the constructor
+ * and never mutated afterwards; since it is only reachable through a final field, every thread sees it fully set up.
+ */
+public final class NoiseConfig {
+    private final FastNoiseLite noise;
+    private final int seed;
+    private final float frequency;
+    private final FastNoiseLite.NoiseType noiseType;
+    private final FastNoiseLite.FractalType fractalType;
+    private final int octaves;
+
+    private NoiseConfig(Builder builder) {
+        seed = builder.seed;
+        frequency = builder.frequency;
+        noiseType = builder.noiseType;
+        fractalType = builder.fractalType;
+        octaves = builder.octaves;
+
+        FastNoiseLite noise = new FastNoiseLite(builder.seed);
+        noise.SetFrequency(builder.frequency);
+        noise.SetNoiseType(builder.noiseType);
+        noise.SetRotationType3D(builder.rotationType3D);
+        noise.SetFractalType(builder.fractalType);
+        noise.SetFractalOctaves(builder.octaves);
+        noise.SetFractalLacunarity(builder.lacunarity);
+        noise.SetFractalGain(builder.gain);
+        noise.SetFractalWeightedStrength(builder.weightedStrength);
+        noise.SetFractalPingPongStrength(builder.pingPongStrength);
+        noise.SetCellularDistanceFunction(builder.cellularDistanceFunction);
+        noise.SetCellularReturnType(builder.cellularReturnType);
+        noise.SetCellularJitter(builder.cellularJitter);
+        this.noise = noise;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public float sample(float x, float y) {
+        return noise.GetNoise(x, y);
+    }
+
+    public float sample(float x, float y, float z) {
+        return noise.GetNoise(x, y, z);
+    }
+
+    /** See {@link FastNoiseLite#GenUniformGrid2D}. */
+    public void sampleGrid(float[] out, float xStart, float yStart, int width, int height, float step) {
+        noise.GenUniformGrid2D(out, xStart, yStart, width, height, step);
+    }
+
+    /** See {@link FastNoiseLite#GenUniformGrid3D}. */
+    public void sampleGrid(float[] out, float xStart, float yStart, float zStart, int width, int height, int depth, float step) {
+        noise.GenUniformGrid3D(out, xStart, yStart, zStart, width, height, depth, step);
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public float getFrequency() {
+        return frequency;
+    }
+
+    public FastNoiseLite.NoiseType getNoiseType() {
+        return noiseType;
+    }
+
+    public FastNoiseLite.FractalType getFractalType() {
+        return fractalType;
+    }
+
+    public int getOctaves() {
+        return octaves;
+    }
+
+    /** Collects settings for a {@link NoiseConfig}. Defaults match {@link FastNoiseLite}. Not thread-safe. */
+    public static final class Builder {
+        private int seed = 1337;
+        private float frequency = 0.01f;
+        private FastNoiseLite.NoiseType noiseType = FastNoiseLite.NoiseType.OpenSimplex2;
+        private FastNoiseLite.RotationType3D rotationType3D = FastNoiseLite.RotationType3D.None;
+        private FastNoiseLite.FractalType fractalType = FastNoiseLite.FractalType.None;
+        private int octaves = 3;
+        private float lacunarity = 2.0f;
+        private float gain = 0.5f;
+        private float weightedStrength = 0.0f;
+        private float pingPongStrength = 2.0f;
+        private FastNoiseLite.CellularDistanceFunction cellularDistanceFunction = FastNoiseLite.CellularDistanceFunction.EuclideanSq;
+        private FastNoiseLite.CellularReturnType cellularReturnType = FastNoiseLite.CellularReturnType.Distance;
+        private float cellularJitter = 1.0f;
+
+        private Builder() {
+        }
+
+        public Builder seed(int seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder frequency(float frequency) {
+            this.frequency = frequency;
+            return this;
+        }
+
+        public Builder noiseType(FastNoiseLite.NoiseType noiseType) {
+            this.noiseType = noiseType;
+            return this;
+        }
+
+        public Builder rotationType3D(FastNoiseLite.RotationType3D rotationType3D) {
+            this.rotationType3D = rotationType3D;
+            return this;
+        }
+
+        public Builder fractalType(FastNoiseLite.FractalType fractalType) {
+            this.fractalType = fractalType;
+            return this;
+        }
+
+        public Builder octaves(int octaves) {
+            if (octaves < 1) throw new IllegalArgumentException("Octaves must be at least 1: " + octaves);
+            this.octaves = octaves;
+            return this;
+        }
+
+        public Builder lacunarity(float lacunarity) {
+            this.lacunarity = lacunarity;
+            return this;
+        }
+
+        public Builder gain(float gain) {
+            this.gain = gain;
+            return this;
+        }
+
+        public Builder weightedStrength(float weightedStrength) {
+            this.weightedStrength = weightedStrength;
+            return this;
+        }
+
+        public Builder pingPongStrength(float pingPongStrength) {
+            this.pingPongStrength = pingPongStrength;
+            return this;
+        }
+
+        public Builder cellularDistanceFunction(FastNoiseLite.CellularDistanceFunction cellularDistanceFunction) {
+            this.cellularDistanceFunction = cellularDistanceFunction;
+            return this;
+        }
+
+        public Builder cellularReturnType(FastNoiseLite.CellularReturnType cellularReturnType) {
+            this.cellularReturnType = cellularReturnType;
+            return this;
+        }
+
+        public Builder cellularJitter(float cellularJitter) {
+            this.cellularJitter = cellularJitter;
+            return this;
+        }
+
+        public NoiseConfig build() {
+            return new NoiseConfig(this);
+        }
+    }
+}
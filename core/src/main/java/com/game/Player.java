@@ -1,7 +1,5 @@
 package com.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.PerspectiveCamera;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
 
@@ -10,35 +8,42 @@ public class Player
 
     BoundingBox playerBox = new BoundingBox();
 
-    Vector3 position;
+    // Position at the last simulation tick, and at the one before for interpolating the camera
+    final Vector3 position = new Vector3();
+    final Vector3 previousPosition = new Vector3();
 
     Vector3 boxSize = new Vector3(0.5f,1.8f,0.5f);
 
-    PerspectiveCamera camera = new PerspectiveCamera(67,Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-
     boolean onGround;
 
     float verticalVelocity = 0f;
 
+    // Corners for building boxes, so moving the player does not allocate
+    private final Vector3 boxMin = new Vector3();
+    private final Vector3 boxMax = new Vector3();
+
     public Player(Vector3 pos){
 
         setPosition(pos);
-
-        camera.position.set(position);
-        camera.near = 0.1f;
-        camera.far = 1000f;
-        camera.update();
+        previousPosition.set(pos);
 
     }
 
+    // Copies the position, the caller may reuse newpos
     void setPosition(Vector3 newpos){
-        playerBox.set(new Vector3(newpos.x-boxSize.x/2, newpos.y-boxSize.y/2-0.5f, newpos.z-boxSize.z/2), new Vector3(newpos.x+boxSize.x/2, newpos.y+boxSize.y/2-0.5f, newpos.z+boxSize.z/2));
-        position = newpos;
-        camera.position.set(newpos);
-        camera.update();
+        getBoxAt(newpos, playerBox);
+        position.set(newpos);
+    }
+
+    // Called at the start of every simulation tick
+    void beginTick(){
+        previousPosition.set(position);
     }
 
-    void setOnlyBox(Vector3 newpos){
-        playerBox.set(new Vector3(newpos.x-boxSize.x/2, newpos.y-boxSize.y/2-0.5f, newpos.z-boxSize.z/2), new Vector3(newpos.x+boxSize.x/2, newpos.y+boxSize.y/2-0.5f, newpos.z+boxSize.z/2));
+    // Box the player would occupy at the given position, without moving the player
+    BoundingBox getBoxAt(Vector3 newpos, BoundingBox out){
+        boxMin.set(newpos.x-boxSize.x/2, newpos.y-boxSize.y/2-0.5f, newpos.z-boxSize.z/2);
+        boxMax.set(newpos.x+boxSize.x/2, newpos.y+boxSize.y/2-0.5f, newpos.z+boxSize.z/2);
+        return out.set(boxMin, boxMax);
     }
 }
@@ -0,0 +1,30 @@
+package com.game;
+
+import com.badlogic.gdx.math.Vector3;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Player input sampled by the render thread and read by the simulation thread. Held keys and the look direction
+ * are overwritten every frame. Clicks are counted instead, so none is lost when several frames pass between ticks.
+ * The look direction is three separate volatile floats; a tick may see components from two consecutive frames,
+ * which is harmless since they differ by a single frame of mouse movement.
+ */
+public class PlayerInput {
+    volatile boolean forward, back, left, right;
+    // Jump while walking, up and down while flying
+    volatile boolean up, down;
+    private volatile float lookX, lookY, lookZ = -1;
+    final AtomicInteger breakClicks = new AtomicInteger();
+    final AtomicInteger placeClicks = new AtomicInteger();
+
+    void setLook(Vector3 direction) {
+        lookX = direction.x;
+        lookY = direction.y;
+        lookZ = direction.z;
+    }
+
+    Vector3 getLook(Vector3 out) {
+        return out.set(lookX, lookY, lookZ);
+    }
+}
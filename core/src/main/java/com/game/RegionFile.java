@@ -0,0 +1,155 @@
+package com.game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+
+/**
+ * Stores the payloads of a 32x32 layer of chunks in one file, split into 256 byte sectors. The first 4 KiB hold the
+ * location table: one int per chunk holding its first sector in the upper 24 bits and its sector count in the lower 8.
+ * Sectors are small because payloads are edit lists of usually well under a hundred bytes.
+ * Each payload starts with its length and a CRC32, so a damaged chunk is detected on read instead of returned.
+ * <p>
+ * A write always goes to sectors not used by any chunk, including the old copy of the same chunk, and is flushed
+ * to disk before the location entry is switched over. A crash at any point therefore leaves every chunk either at
+ * its old or its new version. Reads go through a memory mapping of the file, which is extended as the file grows.
+ * All methods are synchronized, one region may be read by the generation workers while the I/O thread writes.
+ */
+class RegionFile implements Closeable {
+    static final int SIZE = 32;
+    static final int SHIFT = 5;
+    static final int MASK = SIZE - 1;
+
+    static final int SECTOR_BYTES = 256;
+    private static final int HEADER_SECTORS = SIZE * SIZE * 4 / SECTOR_BYTES;
+    private static final int MAX_SECTORS_PER_CHUNK = 255;
+    // Payload length and CRC32 in front of each payload
+    private static final int CHUNK_HEADER_BYTES = 8;
+
+    private final FileChannel channel;
+    private final int[] locations = new int[SIZE * SIZE];
+    private final BitSet usedSectors = new BitSet();
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer mapped;
+
+    RegionFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SECTORS * SECTOR_BYTES) {
+            channel.write(ByteBuffer.allocate(HEADER_SECTORS * SECTOR_BYTES), 0);
+            channel.force(true);
+        }
+        remap();
+
+        usedSectors.set(0, HEADER_SECTORS);
+        long fileSectors = channel.size() / SECTOR_BYTES;
+        for (int i = 0; i < locations.length; i++) {
+            int location = mapped.getInt(i * 4);
+            if (location == 0) continue;
+            int offset = location >>> 8;
+            int count = location & 0xFF;
+            // Entries pointing outside the file or into the sectors of an earlier chunk are dropped and those
+            // chunks regenerate. Only valid entries reserve sectors, so writes never land on data still in use.
+            int overlap = usedSectors.nextSetBit(offset);
+            if (offset < HEADER_SECTORS || count == 0 || offset + count > fileSectors
+                || overlap >= 0 && overlap < offset + count) {
+                continue;
+            }
+            locations[i] = location;
+            usedSectors.set(offset, offset + count);
+        }
+    }
+
+    /** Index of the chunk in the location table, from chunk coordinates. */
+    static int index(int cx, int cz) {
+        return (cz & MASK) * SIZE + (cx & MASK);
+    }
+
+    /** Returns the payload of the chunk, or null if it was never written. */
+    synchronized byte[] read(int index) throws IOException {
+        int location = locations[index];
+        if (location == 0) return null;
+        long position = (long) (location >>> 8) * SECTOR_BYTES;
+        int capacity = (location & 0xFF) * SECTOR_BYTES;
+        if (position + capacity > mapped.capacity()) remap();
+
+        int length = mapped.getInt((int) position);
+        if (length < 0 || length > capacity - CHUNK_HEADER_BYTES) {
+            throw new IOException("Corrupt chunk length " + length + " at sector " + (location >>> 8));
+        }
+        int expectedCrc = mapped.getInt((int) position + 4);
+        byte[] payload = new byte[length];
+        ByteBuffer view = mapped.duplicate();
+        view.position((int) position + CHUNK_HEADER_BYTES);
+        view.get(payload);
+
+        crc.reset();
+        crc.update(payload, 0, length);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Chunk checksum mismatch at sector " + (location >>> 8));
+        }
+        return payload;
+    }
+
+    /** Writes the first {@code length} bytes of {@code payload} as the new version of the chunk. */
+    synchronized void write(int index, byte[] payload, int length) throws IOException {
+        int count = (CHUNK_HEADER_BYTES + length + SECTOR_BYTES - 1) / SECTOR_BYTES;
+        if (count > MAX_SECTORS_PER_CHUNK) {
+            throw new IOException("Chunk payload too large: " + length + " bytes");
+        }
+        int offset = allocate(count);
+
+        crc.reset();
+        crc.update(payload, 0, length);
+        // Padded to whole sectors so the file length stays a multiple of the sector size
+        ByteBuffer buffer = ByteBuffer.allocate(count * SECTOR_BYTES);
+        buffer.putInt(length).putInt((int) crc.getValue()).put(payload, 0, length);
+        buffer.clear();
+        writeFully(buffer, (long) offset * SECTOR_BYTES);
+        channel.force(false);
+
+        // Only switch the location entry once the data is on disk
+        int location = offset << 8 | count;
+        ByteBuffer entry = ByteBuffer.allocate(4);
+        entry.putInt(location).flip();
+        writeFully(entry, index * 4L);
+        channel.force(false);
+
+        int old = locations[index];
+        if (old != 0) usedSectors.clear(old >>> 8, (old >>> 8) + (old & 0xFF));
+        locations[index] = location;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mapped = null;
+        channel.close();
+    }
+
+    // First fit, the file grows when no gap between used sectors is large enough
+    private int allocate(int count) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            int end = usedSectors.nextSetBit(start);
+            if (end < 0 || end - start >= count) break;
+            start = usedSectors.nextClearBit(end);
+        }
+        usedSectors.set(start, start + count);
+        return start;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void remap() throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+}
@@ -0,0 +1,20 @@
+package com.game;
+
+/** Per frame counters of the chunk renderer, reset at the start of every frame. */
+public class RenderStats {
+    // Chunks that have geometry and were tested against the frustum
+    public int chunksTested;
+    public int chunksDrawn;
+    public int chunksCulled;
+    // Loaded chunks skipped without a frustum test because they have no mesh
+    public int chunksEmpty;
+    public int chunksHidden;
+
+    public void reset() {
+        chunksTested = 0;
+        chunksDrawn = 0;
+        chunksCulled = 0;
+        chunksEmpty = 0;
+        chunksHidden = 0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.game;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The game logic run by the {@link SimulationThread}: player movement with gravity and collision, and breaking and
+ * placing blocks for the clicks in {@link PlayerInput}. Every tick publishes a {@link SimulationSnapshot}. Snapshots
+ * come from a pool and are reused once the render thread has {@linkplain #release released} them, so after warm-up
+ * a tick does not allocate. Needs no GL context.
+ */
+public class Simulation implements SimulationThread.Task {
+    // Movement, gravity and block edits run in fixed ticks, independent of the frame rate
+    static final float TICK = 1f / 60f;
+    static final long TICK_NANOS = 1_000_000_000L / 60;
+
+    final ChunkMap chunks;
+    // Held while the tick reads and edits the world, see Main.worldLock
+    final Object lock;
+    // The simulation owns the player's position and movement, the camera belongs to the render thread
+    final Player player;
+    final PlayerInput input;
+
+    float gravity = 18f;
+    // Terminal falling speed
+    float maxFallSpeed = 50f;
+    boolean fly = false;
+
+    // Time per tick, read by the render thread while holding its monitor
+    final FrameProfiler profiler = new FrameProfiler();
+    final int profileTick = profiler.add("tick");
+    final int profilePhysics = profiler.add("physics");
+    final int profileRaycast = profiler.add("raycast");
+
+    // Last snapshot published, the oldest one not yet back in the pool, and the pool
+    private SimulationSnapshot published;
+    private SimulationSnapshot oldest;
+    private final Array<SimulationSnapshot> free = new Array<>();
+    // Latest snapshot the render thread has reached; the ones before it are no longer read
+    private volatile SimulationSnapshot released;
+    // Change of the block storage size by all edits so far, see SimulationSnapshot.editedBlockBytes
+    private long editedBlockBytes;
+
+    private final BoundingBox collisionBox = new BoundingBox();
+    private final VoxelSweep sweep = new VoxelSweep();
+    private final VoxelRaycast raycast = new VoxelRaycast();
+    // Scratch vectors of the movement code, reused every tick so a tick does not allocate
+    private final Vector3 look = new Vector3();
+    private final Vector3 forward = new Vector3();
+    private final Vector3 right = new Vector3();
+    private final Vector3 moveDirection = new Vector3();
+    private final Vector3 newPosition = new Vector3();
+
+    public Simulation(ChunkMap chunks, Object lock, Player player, PlayerInput input, long time) {
+        this.chunks = chunks;
+        this.lock = lock;
+        this.player = player;
+        this.input = input;
+        published = oldest = released = new SimulationSnapshot();
+        published.set(time, player);
+    }
+
+    /** The snapshot of the starting position, the first one for the render thread. */
+    public SimulationSnapshot first() {
+        return oldest;
+    }
+
+    /** Called by the render thread once it has moved on to {@code snapshot}, the snapshots before it may be reused. */
+    public void release(SimulationSnapshot snapshot) {
+        released = snapshot;
+    }
+
+    /** Runs on the simulation thread, see {@link SimulationThread}. */
+    @Override
+    public void tick(long time) {
+        profiler.start(profileTick);
+        recycleSnapshots();
+        SimulationSnapshot next = free.size > 0 ? free.pop() : new SimulationSnapshot();
+        next.changedBlocks.clear();
+
+        synchronized (lock) {
+            player.beginTick();
+            input.getLook(look);
+            profiler.start(profilePhysics);
+            if (isColumnLoaded(player.position.x, player.position.z)) {
+                movePlayer(TICK);
+            }
+            profiler.stop(profilePhysics);
+            profiler.start(profileRaycast);
+            handleClicks(next);
+            profiler.stop(profileRaycast);
+        }
+
+        next.set(time, player);
+        next.editedBlockBytes = editedBlockBytes;
+        published.next = next;
+        published = next;
+        profiler.stop(profileTick);
+        synchronized (profiler) {
+            profiler.endFrame();
+        }
+    }
+
+    private void recycleSnapshots() {
+        SimulationSnapshot released = this.released;
+        while (oldest != released) {
+            SimulationSnapshot snapshot = oldest;
+            oldest = snapshot.next;
+            snapshot.next = null;
+            free.add(snapshot);
+        }
+    }
+
+    /** Returns true if every chunk of the column containing the given world position is loaded. */
+    boolean isColumnLoaded(float x, float z) {
+        int cx = ChunkMap.toChunk((int) Math.floor(x));
+        int cz = ChunkMap.toChunk((int) Math.floor(z));
+        for (int cy = TerrainGenerator.MIN_CHUNK_Y; cy <= TerrainGenerator.MAX_CHUNK_Y; cy++) {
+            if (!chunks.contains(ChunkMap.key(cx, cy, cz))) return false;
+        }
+        return true;
+    }
+
+    /** Breaks and places blocks for the clicks since the last tick. Changed blocks go to {@code snapshot}. */
+    void handleClicks(SimulationSnapshot snapshot) {
+        for (int i = input.breakClicks.getAndSet(0); i > 0; i--) {
+            if (getTargetedBlock(5.0f)) {
+                int bx = raycast.x;
+                int by = raycast.y;
+                int bz = raycast.z;
+
+                if (setBlock(bx, by, bz, BlockRegistry.AIR) != BlockRegistry.AIR) {
+                    snapshot.changedBlocks.add(bx, by, bz);
+                }
+            }
+        }
+
+        // Placed against the face that was hit
+        for (int i = input.placeClicks.getAndSet(0); i > 0; i--) {
+            if (getTargetedBlock(5.0f)) {
+                int bx = raycast.x + raycast.normalX;
+                int by = raycast.y + raycast.normalY;
+                int bz = raycast.z + raycast.normalZ;
+
+                // Only into loaded chunks, which also keeps blocks inside the streamed height range where they are saved
+                if (chunks.getAt(bx, by, bz) != null && chunks.getBlock(bx, by, bz) == BlockRegistry.AIR
+                    && !VoxelCollision.overlapsCell(player.playerBox, bx, by, bz)) {
+                    setBlock(bx, by, bz, BlockRegistry.STONE);
+                    snapshot.changedBlocks.add(bx, by, bz);
+                }
+            }
+        }
+    }
+
+    /** Applies the movement keys and gravity, and moves the player until it hits a block. */
+    void movePlayer(float deltaTime) {
+        forward.set(look.x, 0, look.z).nor();
+        right.set(look).crs(Vector3.Y).nor();
+        moveDirection.setZero();
+        if (input.forward) moveDirection.add(forward);
+        if (input.back) moveDirection.sub(forward);
+        if (input.left) moveDirection.sub(right);
+        if (input.right) moveDirection.add(right);
+        if(fly){
+            if (input.up) moveDirection.add(Vector3.Y);
+            if (input.down) moveDirection.sub(Vector3.Y);
+        }else {
+            if (input.up && player.onGround){
+                player.verticalVelocity = 7f;
+            }
+        }
+
+        moveDirection.nor().scl(10f);
+        moveDirection.scl(deltaTime);
+        if(!fly){
+            player.verticalVelocity = Math.max(player.verticalVelocity - gravity*deltaTime, -maxFallSpeed);
+            moveDirection.y = player.verticalVelocity*deltaTime;
+        }
+
+        // Each axis stops at the first block in its path, the others keep going so the player slides along walls
+        player.getBoxAt(player.position, collisionBox);
+        sweep.move(chunks, collisionBox, moveDirection.x, moveDirection.y, moveDirection.z);
+        player.setPosition(newPosition.set(player.position).add(sweep.dx, sweep.dy, sweep.dz));
+
+        // On the ground only while resting on a face below, a ceiling just ends the jump
+        player.onGround = sweep.normalY > 0;
+        if(sweep.normalY != 0){
+            player.verticalVelocity = 0;
+        }
+    }
+
+    /** Casts a ray from the player's eye along the look direction, the hit block and face are left in {@link #raycast}. */
+    boolean getTargetedBlock(float maxDistance) {
+        return raycast.cast(chunks, player.position, look, maxDistance);
+    }
+
+    /** Returns the previous block ID. Blocks of chunks that are not loaded read as air and are not changed. */
+    short setBlock(int x, int y, int z, short id) {
+        Chunk chunk = chunks.getAt(x, y, z);
+        if (chunk == null) return BlockRegistry.AIR;
+        // The palette may grow or collapse
+        int bytes = chunk.storageBytes();
+        short old = chunk.editBlock(ChunkMap.toLocal(x), ChunkMap.toLocal(y), ChunkMap.toLocal(z), id);
+        editedBlockBytes += chunk.storageBytes() - bytes;
+        return old;
+    }
+}
@@ -0,0 +1,34 @@
+package com.game;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * State published by the simulation thread after every tick. {@link #next} links each snapshot to the one
+ * published after it, so the render thread can walk all snapshots it has not seen yet without locking and never
+ * misses the blocks changed by a tick. The fields are written before the snapshot is linked and not again until
+ * the render thread has released it, see {@link Simulation#release}.
+ */
+public final class SimulationSnapshot {
+    // System.nanoTime() the tick was scheduled for
+    long time;
+    // Player position after this tick and after the tick before, for interpolating the camera
+    float x, y, z;
+    float previousX, previousY, previousZ;
+    // Change of the block storage size by all edits up to this tick, added to ChunkStreamer.blockBytes() for the
+    // size of all loaded chunks
+    long editedBlockBytes;
+    // World coordinates of the blocks changed during the tick, as (x, y, z) triples
+    final IntArray changedBlocks = new IntArray();
+
+    volatile SimulationSnapshot next;
+
+    void set(long time, Player player) {
+        this.time = time;
+        x = player.position.x;
+        y = player.position.y;
+        z = player.position.z;
+        previousX = player.previousPosition.x;
+        previousY = player.previousPosition.y;
+        previousZ = player.previousPosition.z;
+    }
+}
@@ -0,0 +1,86 @@
+package com.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link Task} at a fixed rate on its own thread, so the simulation overlaps with rendering. When ticks run
+ * late they are caught up back to back, at most {@code maxTicksBehind} of them; after a longer stall the
+ * simulation falls behind instead of spiralling. A failure of the task stops the thread and is rethrown on the
+ * render thread by {@link #checkFailure}.
+ */
+public class SimulationThread {
+    public interface Task {
+        /** Runs one tick. {@code time} is the {@link System#nanoTime} the tick was scheduled for. */
+        void tick(long time);
+    }
+
+    private final Task task;
+    private final long tickNanos;
+    private final int maxTicksBehind;
+    private final Thread thread;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean running;
+
+    public SimulationThread(String name, Task task, long tickNanos, int maxTicksBehind) {
+        this.task = task;
+        this.tickNanos = tickNanos;
+        this.maxTicksBehind = maxTicksBehind;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                loop();
+            }
+        }, name);
+        thread.setDaemon(true);
+    }
+
+    /** Starts ticking, the first tick runs immediately. */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /** Throws on the calling thread if a tick failed. */
+    public void checkFailure() {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new GdxRuntimeException("Simulation failed", error);
+        }
+    }
+
+    /** Stops ticking and waits for the current tick to finish. */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void loop() {
+        long next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            if (now - next < 0) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            if (now - next >= maxTicksBehind * tickNanos) {
+                next = now - (maxTicksBehind - 1) * tickNanos;
+            }
+
+            try {
+                task.tick(next);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                return;
+            }
+            next += tickNanos;
+        }
+    }
+}
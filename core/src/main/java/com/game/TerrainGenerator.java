@@ -0,0 +1,50 @@
+package com.game;
+
+/**
+ * Fills chunks with terrain. The terrain is a height field from noise: grass on top, stone below, nothing under y = 0.
+ * Column heights come from a {@link HeightmapCache}, so the noise is sampled once per column rather than once per
+ * vertical chunk. Stateless apart from the immutable {@link NoiseConfig} and the thread-safe cache, so any number
+ * of workers may call {@link #generate} at once.
+ */
+public class TerrainGenerator implements HeightmapCache.Source {
+    public static final int MIN_Y = 0;
+    public static final int MAX_Y = 55;
+    public static final int MIN_CHUNK_Y = MIN_Y >> ChunkMap.SHIFT;
+    public static final int MAX_CHUNK_Y = MAX_Y >> ChunkMap.SHIFT;
+
+    private final NoiseConfig noise;
+    public final HeightmapCache heightmaps;
+
+    /** @param cachedColumns number of column heightmaps kept, should cover at least the loaded area */
+    public TerrainGenerator(NoiseConfig noise, int cachedColumns) {
+        this.noise = noise;
+        this.heightmaps = new HeightmapCache(this, cachedColumns);
+    }
+
+    @Override
+    public void sampleColumn(int cx, int cz, int[] out) {
+        // Sample the whole 16x16 column grid at once, bit-identical to sampling each position on its own
+        float[] samples = new float[Chunk.SIZE * Chunk.SIZE];
+        noise.sampleGrid(samples, cx * Chunk.SIZE, cz * Chunk.SIZE, Chunk.SIZE, Chunk.SIZE, 1);
+        for (int i = 0; i < samples.length; i++) {
+            out[i] = (int) (samples[i] * 40) + 15;
+        }
+    }
+
+    public void generate(Chunk chunk) {
+        int oy = chunk.cy * Chunk.SIZE;
+        // Columns entirely below the terrain floor stay empty, no need to touch the cache
+        if (oy + Chunk.SIZE - 1 < MIN_Y) return;
+
+        int[] heights = heightmaps.get(chunk.cx, chunk.cz);
+        for (int lz = 0; lz < Chunk.SIZE; lz++) {
+            for (int lx = 0; lx < Chunk.SIZE; lx++) {
+                int height = heights[lz * Chunk.SIZE + lx];
+                int top = Math.min(height, oy + Chunk.SIZE - 1);
+                for (int y = Math.max(MIN_Y, oy); y <= top; y++) {
+                    chunk.setBlock(lx, y - oy, lz, y == height ? BlockRegistry.GRASS : BlockRegistry.STONE);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws chunk meshes with the {@link BlockAtlas}. Each face samples its block's tile, repeated once per block
+ * across merged faces. Lighting and ambient occlusion are baked into the vertex colors by {@link ChunkMesher},
+ * so the shader is unlit: one texture lookup times the interpolated color.
+ */
+public class TerrainShader implements Shader {
+    private final BlockAtlas atlas;
+    private final ShaderProgram program;
+    private final int u_projViewTrans, u_worldTrans, u_texture, u_tileSize, u_halfTexel;
+
+    public TerrainShader(BlockAtlas atlas) {
+        this.atlas = atlas;
+        program = new ShaderProgram(Gdx.files.internal("shaders/terrain.vert").readString(),
+            Gdx.files.internal("shaders/terrain.frag").readString());
+        if (!program.isCompiled()) {
+            throw new GdxRuntimeException("Cannot compile terrain shader: " + program.getLog());
+        }
+        u_projViewTrans = program.fetchUniformLocation("u_projViewTrans", false);
+        u_worldTrans = program.fetchUniformLocation("u_worldTrans", false);
+        u_texture = program.fetchUniformLocation("u_texture", false);
+        u_tileSize = program.fetchUniformLocation("u_tileSize", false);
+        u_halfTexel = program.fetchUniformLocation("u_halfTexel", false);
+    }
+
+    @Override
+    public void init() {
+        // Compiled in the constructor
+    }
+
+    @Override
+    public int compareTo(Shader other) {
+        return 0;
+    }
+
+    @Override
+    public boolean canRender(Renderable renderable) {
+        return renderable.material == atlas.material;
+    }
+
+    @Override
+    public void begin(Camera camera, RenderContext context) {
+        program.bind();
+        program.setUniformMatrix(u_projViewTrans, camera.combined);
+        program.setUniformi(u_texture, context.textureBinder.bind(atlas.texture));
+        program.setUniformf(u_tileSize, atlas.tileWidth, atlas.tileHeight);
+        program.setUniformf(u_halfTexel, 0.5f / atlas.texture.getWidth(), 0.5f / atlas.texture.getHeight());
+        context.setDepthTest(GL20.GL_LEQUAL);
+        context.setDepthMask(true);
+        context.setCullFace(GL20.GL_BACK);
+        context.setBlending(false, GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    @Override
+    public void render(Renderable renderable) {
+        program.setUniformMatrix(u_worldTrans, renderable.worldTransform);
+        renderable.meshPart.render(program);
+    }
+
+    @Override
+    public void end() {
+    }
+
+    @Override
+    public void dispose() {
+        program.dispose();
+    }
+
+}
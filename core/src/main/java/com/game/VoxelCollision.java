@@ -0,0 +1,26 @@
+package com.game;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+
+/** Collision queries against the block grid. Blocks are unit cubes centered on integer coordinates. */
+public final class VoxelCollision {
+    private VoxelCollision() {
+    }
+
+    /** Returns true if the box overlaps the block cell at the given coordinates. */
+    public static boolean overlapsCell(BoundingBox box, int x, int y, int z) {
+        return box.min.x < x + 0.5f && box.max.x > x - 0.5f
+            && box.min.y < y + 0.5f && box.max.y > y - 0.5f
+            && box.min.z < z + 0.5f && box.max.z > z - 0.5f;
+    }
+
+    /** Lowest cell whose upper face lies above {@code min}. */
+    static int firstCell(float min) {
+        return (int) Math.floor(min - 0.5f) + 1;
+    }
+
+    /** Highest cell whose lower face lies below {@code max}. */
+    static int lastCell(float max) {
+        return (int) Math.ceil(max + 0.5f) - 1;
+    }
+}
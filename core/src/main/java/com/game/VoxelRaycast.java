@@ -0,0 +1,81 @@
+package com.game;
+
+import com.badlogic.gdx.math.Vector3;
+
+/**
+ * Grid traversal raycast (Amanatides and Woo). Every cell the ray passes through is visited exactly once,
+ * so the cost only depends on the distance. The result is kept in this object, casting does not allocate.
+ */
+public class VoxelRaycast {
+    public boolean hit;
+    // Coordinates of the hit block
+    public int x, y, z;
+    // Normal of the face the ray entered through, zero if the ray started inside the block
+    public int normalX, normalY, normalZ;
+    public float distance;
+
+    public boolean cast(BlockAccess world, Vector3 origin, Vector3 direction, float maxDistance) {
+        hit = false;
+        normalX = normalY = normalZ = 0;
+
+        float length = direction.len();
+        if (length == 0) return false;
+        float dx = direction.x / length;
+        float dy = direction.y / length;
+        float dz = direction.z / length;
+
+        // Blocks are centered on integer coordinates, shift so cells start at integers
+        float ox = origin.x + 0.5f;
+        float oy = origin.y + 0.5f;
+        float oz = origin.z + 0.5f;
+        int cx = (int) Math.floor(ox);
+        int cy = (int) Math.floor(oy);
+        int cz = (int) Math.floor(oz);
+
+        int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+        int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+        int stepZ = dz > 0 ? 1 : dz < 0 ? -1 : 0;
+
+        float tDeltaX = stepX != 0 ? Math.abs(1f / dx) : Float.POSITIVE_INFINITY;
+        float tDeltaY = stepY != 0 ? Math.abs(1f / dy) : Float.POSITIVE_INFINITY;
+        float tDeltaZ = stepZ != 0 ? Math.abs(1f / dz) : Float.POSITIVE_INFINITY;
+
+        float tMaxX = stepX > 0 ? (cx + 1 - ox) * tDeltaX : stepX < 0 ? (ox - cx) * tDeltaX : Float.POSITIVE_INFINITY;
+        float tMaxY = stepY > 0 ? (cy + 1 - oy) * tDeltaY : stepY < 0 ? (oy - cy) * tDeltaY : Float.POSITIVE_INFINITY;
+        float tMaxZ = stepZ > 0 ? (cz + 1 - oz) * tDeltaZ : stepZ < 0 ? (oz - cz) * tDeltaZ : Float.POSITIVE_INFINITY;
+
+        float t = 0;
+        while (true) {
+            if (world.getBlock(cx, cy, cz) != BlockRegistry.AIR) {
+                hit = true;
+                x = cx;
+                y = cy;
+                z = cz;
+                distance = t;
+                return true;
+            }
+
+            if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+                t = tMaxX;
+                cx += stepX;
+                tMaxX += tDeltaX;
+                normalX = -stepX;
+                normalY = normalZ = 0;
+            } else if (tMaxY < tMaxZ) {
+                t = tMaxY;
+                cy += stepY;
+                tMaxY += tDeltaY;
+                normalY = -stepY;
+                normalX = normalZ = 0;
+            } else {
+                t = tMaxZ;
+                cz += stepZ;
+                tMaxZ += tDeltaZ;
+                normalZ = -stepZ;
+                normalX = normalY = 0;
+            }
+
+            if (t > maxDistance) return false;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.game;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+
+/**
+ * Swept box collision against the block grid. A move is resolved one axis at a time, and each axis stops at the
+ * first layer of cells along its path that holds a solid block, so no block is skipped however far the box moves.
+ * Only the cells inside the swept volume are visited. The result is kept in this object, moving does not allocate.
+ */
+public class VoxelSweep {
+    // Gap left between the box and a face it stops at, so rounding never puts the box inside the block
+    static final float SKIN = 1e-4f;
+
+    // Distance the box actually moved along each axis
+    public float dx, dy, dz;
+    // Normal of the face the box stopped against on each axis, zero if that axis was not blocked
+    public int normalX, normalY, normalZ;
+
+    private final float[] min = new float[3];
+    private final float[] max = new float[3];
+    private final int[] cell = new int[3];
+
+    /**
+     * Moves the box by the given offset, first along y so landing and jumping are resolved before sliding
+     * along walls, then along x and z. The box is updated in place.
+     */
+    public void move(BlockAccess world, BoundingBox box, float offsetX, float offsetY, float offsetZ) {
+        min[0] = box.min.x;
+        min[1] = box.min.y;
+        min[2] = box.min.z;
+        max[0] = box.max.x;
+        max[1] = box.max.y;
+        max[2] = box.max.z;
+        normalX = normalY = normalZ = 0;
+
+        dy = sweep(world, 1, offsetY);
+        dx = sweep(world, 0, offsetX);
+        dz = sweep(world, 2, offsetZ);
+
+        box.min.set(min[0], min[1], min[2]);
+        box.max.set(max[0], max[1], max[2]);
+        box.update();
+    }
+
+    /** Moves along one axis up to the first solid layer and returns the distance moved. */
+    private float sweep(BlockAccess world, int axis, float offset) {
+        if (offset == 0) return 0;
+        int u = (axis + 1) % 3;
+        int v = (axis + 2) % 3;
+        int minU = VoxelCollision.firstCell(min[u]);
+        int maxU = VoxelCollision.lastCell(max[u]);
+        int minV = VoxelCollision.firstCell(min[v]);
+        int maxV = VoxelCollision.lastCell(max[v]);
+
+        // Layers the leading face passes through, cells the box already overlaps are not in the way
+        int step, from, to;
+        if (offset > 0) {
+            step = 1;
+            from = VoxelCollision.lastCell(max[axis]) + 1;
+            to = VoxelCollision.lastCell(max[axis] + offset);
+        } else {
+            step = -1;
+            from = VoxelCollision.firstCell(min[axis]) - 1;
+            to = VoxelCollision.firstCell(min[axis] + offset);
+        }
+
+        for (int layer = from; layer * step <= to * step; layer += step) {
+            if (!isSolidLayer(world, axis, layer, u, minU, maxU, v, minV, maxV)) continue;
+            setNormal(axis, -step);
+            // The leading face is placed at the gap directly, so rounding of a long move cannot eat into it.
+            // A box already closer than the gap stays where it is.
+            float moved;
+            if (step > 0) {
+                float face = Math.max(layer - 0.5f - SKIN, max[axis]);
+                moved = face - max[axis];
+                min[axis] += moved;
+                max[axis] = face;
+            } else {
+                float face = Math.min(layer + 0.5f + SKIN, min[axis]);
+                moved = face - min[axis];
+                max[axis] += moved;
+                min[axis] = face;
+            }
+            return moved;
+        }
+        min[axis] += offset;
+        max[axis] += offset;
+        return offset;
+    }
+
+    private boolean isSolidLayer(BlockAccess world, int axis, int layer, int u, int minU, int maxU, int v, int minV, int maxV) {
+        cell[axis] = layer;
+        for (int j = minV; j <= maxV; j++) {
+            cell[v] = j;
+            for (int i = minU; i <= maxU; i++) {
+                cell[u] = i;
+                if (world.getBlock(cell[0], cell[1], cell[2]) != BlockRegistry.AIR) return true;
+            }
+        }
+        return false;
+    }
+
+    private void setNormal(int axis, int normal) {
+        if (axis == 0) normalX = normal;
+        else if (axis == 1) normalY = normal;
+        else normalZ = normal;
+    }
+}
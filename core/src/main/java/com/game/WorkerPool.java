@@ -0,0 +1,39 @@
+package com.game;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Background threads shared by chunk generation and meshing. */
+public final class WorkerPool {
+    private WorkerPool() {
+    }
+
+    /** One thread per core, minus one left for the render thread. */
+    public static int defaultThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    public static ExecutorService create(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, new WorkerFactory(name));
+    }
+
+    /** Creates named low priority daemon threads, so workers never keep the application alive. */
+    static class WorkerFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        WorkerFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
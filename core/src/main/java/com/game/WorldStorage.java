@@ -0,0 +1,311 @@
+package com.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.LongMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Saves the player's edits to {@link RegionFile}s in a directory, one file per 32x32 chunk layer named
+ * {@code r.<rx>.<cy>.<rz>.edits}. Terrain is fully determined by the noise seed, so only the blocks changed since
+ * generation are stored ({@link Chunk#edits}), and a chunk is loaded by generating it and applying its edits.
+ * A payload is a format byte followed by the deflated edit count and (index delta, block ID) varint pairs in
+ * index order; untouched chunks are never written at all.
+ * <p>
+ * {@link #save} snapshots the edits on the calling thread and leaves compression and disk writes to a single
+ * I/O thread, so writes to a region never race each other. {@link #applyEdits} may be called from any thread. It
+ * sees snapshots still waiting to be written, so a chunk that is unloaded and quickly reloaded never comes back stale.
+ */
+public class WorldStorage implements Disposable {
+    private static final byte FORMAT_EDITS = 1;
+    // Two varints of at most 3 bytes per edit, plus the edit count
+    private static final int MAX_RAW_BYTES = Chunk.VOLUME * 6 + 3;
+
+    private final Path directory;
+    // Saved block IDs must be registered, so damaged data never puts unknown blocks into a chunk
+    private final BlockRegistry blocks;
+    private final ExecutorService io = WorkerPool.create("world-io", 1);
+    // Open regions by packed (rx, cy, rz), guarded by itself
+    private final LongMap<RegionFile> regions = new LongMap<>();
+    // Edit snapshots queued for writing by chunk key, guarded by itself, see snapshot()
+    private final LongMap<int[]> pendingWrites = new LongMap<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicInteger corruptChunks = new AtomicInteger();
+
+    // Only used by the I/O thread
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final byte[] raw = new byte[MAX_RAW_BYTES];
+    private byte[] compressed = new byte[1024];
+
+    private static final ThreadLocal<Decoder> DECODERS = new ThreadLocal<Decoder>() {
+        @Override
+        protected Decoder initialValue() {
+            return new Decoder();
+        }
+    };
+
+    public WorldStorage(File directory, BlockRegistry blocks) {
+        this.directory = directory.toPath();
+        this.blocks = blocks;
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Cannot create world directory " + directory, e);
+        }
+    }
+
+    /**
+     * Applies the saved edits of a freshly generated chunk. Returns false if the chunk has none or its data is
+     * damaged, in which case it keeps its generated blocks.
+     */
+    public boolean applyEdits(Chunk chunk) {
+        int[] pending;
+        synchronized (pendingWrites) {
+            pending = pendingWrites.get(chunk.key);
+        }
+        if (pending != null) {
+            apply(chunk, pending);
+            return true;
+        }
+
+        try {
+            RegionFile region = region(chunk.cx, chunk.cy, chunk.cz, false);
+            if (region == null) return false;
+            byte[] payload = region.read(RegionFile.index(chunk.cx, chunk.cz));
+            if (payload == null) return false;
+            DECODERS.get().decode(payload, chunk, blocks);
+            return true;
+        } catch (IOException | DataFormatException e) {
+            corruptChunks.incrementAndGet();
+            Gdx.app.error("WorldStorage", "Discarding damaged chunk " + chunk.cx + ", " + chunk.cy + ", " + chunk.cz, e);
+            return false;
+        }
+    }
+
+    /** Queues the edits of the chunk for writing. Call on the thread that edits the chunk. */
+    public void save(Chunk chunk) {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new GdxRuntimeException("Saving chunks failed", error);
+        }
+        if (chunk.edits == null) return;
+
+        int[] snapshot = snapshot(chunk.edits);
+        synchronized (pendingWrites) {
+            pendingWrites.put(chunk.key, snapshot);
+        }
+        io.execute(new Write(chunk.cx, chunk.cy, chunk.cz, chunk.key, snapshot));
+    }
+
+    /** Number of saved chunks that failed validation since startup and were regenerated instead. */
+    public int corruptChunkCount() {
+        return corruptChunks.get();
+    }
+
+    /** Writes all queued chunks and closes the region files. Blocks until done. */
+    @Override
+    public void dispose() {
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(30, TimeUnit.SECONDS)) {
+                Gdx.app.error("WorldStorage", "Timed out writing chunks, some edits are lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (regions) {
+            for (RegionFile region : regions.values()) {
+                try {
+                    region.close();
+                } catch (IOException e) {
+                    Gdx.app.error("WorldStorage", "Cannot close region file", e);
+                }
+            }
+            regions.clear();
+        }
+        deflater.end();
+        Throwable error = failure.get();
+        if (error != null) {
+            Gdx.app.error("WorldStorage", "Saving chunks failed, some edits are lost", error);
+        }
+    }
+
+    private RegionFile region(int cx, int cy, int cz, boolean create) throws IOException {
+        int rx = cx >> RegionFile.SHIFT;
+        int rz = cz >> RegionFile.SHIFT;
+        long key = ChunkMap.key(rx, cy, rz);
+        synchronized (regions) {
+            RegionFile region = regions.get(key);
+            if (region == null) {
+                Path path = directory.resolve("r." + rx + "." + cy + "." + rz + ".edits");
+                if (!create && !Files.exists(path)) return null;
+                region = new RegionFile(path);
+                regions.put(key, region);
+            }
+            return region;
+        }
+    }
+
+    /**
+     * Copies the edits into an array of (index, block ID) pairs sorted by index, so the indices can be stored
+     * as small deltas. The array is never modified afterwards and may be read by any thread.
+     */
+    private static int[] snapshot(IntIntMap edits) {
+        int[] indices = new int[edits.size];
+        int count = 0;
+        for (IntIntMap.Entry edit : edits.entries()) {
+            indices[count++] = edit.key;
+        }
+        Arrays.sort(indices);
+        int[] snapshot = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            snapshot[i * 2] = indices[i];
+            snapshot[i * 2 + 1] = edits.get(indices[i], 0);
+        }
+        return snapshot;
+    }
+
+    private static void apply(Chunk chunk, int[] edits) {
+        for (int i = 0; i < edits.length; i += 2) {
+            chunk.editBlock(edits[i], (short) edits[i + 1]);
+        }
+    }
+
+    private void write(int cx, int cy, int cz, int[] edits) throws IOException {
+        int size = putVarint(raw, 0, edits.length / 2);
+        int previous = 0;
+        for (int i = 0; i < edits.length; i += 2) {
+            size = putVarint(raw, size, edits[i] - previous);
+            size = putVarint(raw, size, edits[i + 1] & 0xFFFF);
+            previous = edits[i];
+        }
+
+        deflater.reset();
+        deflater.setInput(raw, 0, size);
+        deflater.finish();
+        compressed[0] = FORMAT_EDITS;
+        int length = 1;
+        while (!deflater.finished()) {
+            if (length == compressed.length) compressed = Arrays.copyOf(compressed, length * 2);
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        region(cx, cy, cz, true).write(RegionFile.index(cx, cz), compressed, length);
+    }
+
+    // Seven bits per byte, the high bit marks that another byte follows. Block IDs below 128 and index
+    // gaps below 128 take a single byte.
+    private static int putVarint(byte[] out, int position, int value) {
+        while (value >= 0x80) {
+            out[position++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    private class Write implements Runnable {
+        final int cx, cy, cz;
+        final long key;
+        final int[] edits;
+
+        Write(int cx, int cy, int cz, long key, int[] edits) {
+            this.cx = cx;
+            this.cy = cy;
+            this.cz = cz;
+            this.key = key;
+            this.edits = edits;
+        }
+
+        @Override
+        public void run() {
+            try {
+                write(cx, cy, cz, edits);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                synchronized (pendingWrites) {
+                    // A newer snapshot of the same chunk may have been queued meanwhile
+                    if (pendingWrites.get(key) == edits) pendingWrites.remove(key);
+                }
+            }
+        }
+    }
+
+    /** Per thread inflater and buffers for reading payloads. */
+    private static class Decoder {
+        final Inflater inflater = new Inflater(true);
+        final byte[] raw = new byte[MAX_RAW_BYTES];
+        final int[] edits = new int[Chunk.VOLUME * 2];
+        int position;
+
+        void decode(byte[] payload, Chunk chunk, BlockRegistry blocks) throws DataFormatException {
+            if (payload.length == 0 || payload[0] != FORMAT_EDITS) {
+                throw new DataFormatException("Unknown chunk format " + (payload.length == 0 ? -1 : payload[0]));
+            }
+            int size = inflate(payload);
+            position = 0;
+            int count = getVarint(size);
+            if (count > Chunk.VOLUME) throw new DataFormatException("Too many chunk edits: " + count);
+            int index = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = getVarint(size);
+                index += delta;
+                if (index >= Chunk.VOLUME || i > 0 && delta == 0) {
+                    throw new DataFormatException("Chunk edit index out of range: " + index);
+                }
+                int id = getVarint(size);
+                if (id >= BlockRegistry.MAX_BLOCKS || id != BlockRegistry.AIR && !blocks.isRegistered((short) id)) {
+                    throw new DataFormatException("Unknown block ID in chunk edits: " + id);
+                }
+                edits[i * 2] = index;
+                edits[i * 2 + 1] = id;
+            }
+            if (position != size) throw new DataFormatException("Trailing bytes in chunk payload");
+
+            // Only applied once the whole payload is known to be valid
+            for (int i = 0; i < count; i++) {
+                chunk.editBlock(edits[i * 2], (short) edits[i * 2 + 1]);
+            }
+        }
+
+        private int inflate(byte[] payload) throws DataFormatException {
+            inflater.reset();
+            inflater.setInput(payload, 1, payload.length - 1);
+            int size = 0;
+            while (size < MAX_RAW_BYTES && !inflater.finished()) {
+                int read = inflater.inflate(raw, size, MAX_RAW_BYTES - size);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                size += read;
+            }
+            if (!inflater.finished()) {
+                throw new DataFormatException("Truncated chunk payload");
+            }
+            return size;
+        }
+
+        private int getVarint(int size) throws DataFormatException {
+            int value = 0;
+            for (int shift = 0; shift < 21; shift += 7) {
+                if (position == size) break;
+                byte b = raw[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new DataFormatException("Bad varint in chunk payload");
+        }
+    }
+}
@@ -0,0 +1,564 @@
+package com.game;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Perlin, OpenSimplex2 and Cellular grid kernels for {@link FastNoiseLite} on the JDK Vector API. Each loop
+ * iteration computes one full vector of samples along x, including hashing, gradient and jitter lookup,
+ * interpolation and the nearest point search. The math is the scalar math in the same order, branches become
+ * blends, and {@code FastMin}, {@code FastMax} and {@code FastAbs} keep their handling of signed zeros, so the
+ * output stays bit-identical to {@code GetNoise}.
+ * <p>
+ * Only compiled for Java 17+ into the multi-release part of the jar, and only loaded when the
+ * {@code jdk.incubator.vector} module is present, see {@link FastNoiseLite}.
+ */
+final class VectorNoiseKernel implements FastNoiseLite.GridKernel {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = FLOATS.length();
+
+    private static final int PRIME_X = 501125321;
+    private static final int PRIME_Y = 1136930381;
+    private static final int PRIME_Z = 1720413743;
+    private static final int HASH_MULTIPLIER = 0x27d4eb2d;
+
+    // Constants of SingleSimplex and of the skew in GenUniformGrid2D, spelled the same way so they round the same
+    private static final float SKEW_SQRT3 = (float) 1.7320508075688772935274463415059;
+    private static final float F2 = 0.5f * (SKEW_SQRT3 - 1);
+    private static final float SQRT3 = 1.7320508075688772935274463415059f;
+    private static final float G2 = (3 - SQRT3) / 6;
+
+    private static final float[] LANE_OFFSETS = new float[LANES];
+
+    static {
+        if (INTS.length() != LANES) {
+            throw new IllegalStateException("Float and int vectors differ in lane count");
+        }
+        for (int i = 0; i < LANES; i++) {
+            LANE_OFFSETS[i] = i;
+        }
+    }
+
+    private final ThreadLocal<int[]> gatherIndices = ThreadLocal.withInitial(() -> new int[LANES]);
+
+    @Override
+    public void perlin2D(float[] out, int seed, float frequency, float xStart, float yStart, int width, int height, float step) {
+        int[] indices = gatherIndices.get();
+        FloatVector laneOffsets = FloatVector.fromArray(FLOATS, LANE_OFFSETS, 0);
+        int index = 0;
+
+        for (int j = 0; j < height; j++) {
+            // Row values are uniform across lanes, computed exactly like the scalar path
+            float y = (yStart + j * step) * frequency;
+            int y0 = fastFloor(y);
+            float yd0 = (float) (y - y0);
+            float yd1 = yd0 - 1;
+            float ys = interpQuintic(yd0);
+            int y0p = y0 * PRIME_Y;
+            int y1p = y0p + PRIME_Y;
+
+            for (int i = 0; i < width; i += LANES) {
+                VectorMask<Float> mask = FLOATS.indexInRange(i, width);
+
+                // x = (xStart + i * step) * frequency per lane
+                FloatVector x = laneOffsets.add(i).mul(step).add(xStart).mul(frequency);
+                IntVector x0 = fastFloor(x);
+                FloatVector xd0 = x.sub((FloatVector) x0.convert(VectorOperators.I2F, 0));
+                FloatVector xd1 = xd0.sub(1);
+                FloatVector xs = interpQuintic(xd0);
+
+                FloatVector g00, g10, g01, g11;
+                int firstCell = x0.lane(0);
+                if (firstCell == x0.lane(Math.min(LANES, width - i) - 1)) {
+                    // At low frequencies all lanes usually share one lattice cell, so hash it once and broadcast
+                    int x0s = firstCell * PRIME_X;
+                    int x1s = x0s + PRIME_X;
+                    g00 = grad2D(seed, x0s, y0p, xd0, yd0);
+                    g10 = grad2D(seed, x1s, y0p, xd1, yd0);
+                    g01 = grad2D(seed, x0s, y1p, xd0, yd1);
+                    g11 = grad2D(seed, x1s, y1p, xd1, yd1);
+                } else {
+                    IntVector x0p = x0.mul(PRIME_X);
+                    IntVector x1p = x0p.add(PRIME_X);
+                    g00 = grad2D(seed, x0p, y0p, xd0, yd0, indices);
+                    g10 = grad2D(seed, x1p, y0p, xd1, yd0, indices);
+                    g01 = grad2D(seed, x0p, y1p, xd0, yd1, indices);
+                    g11 = grad2D(seed, x1p, y1p, xd1, yd1, indices);
+                }
+
+                FloatVector xf0 = lerp(g00, g10, xs);
+                FloatVector xf1 = lerp(g01, g11, xs);
+
+                FloatVector value = xf1.sub(xf0).mul(ys).add(xf0).mul(1.4247691104677813f);
+                value.intoArray(out, index + i, mask);
+            }
+            index += width;
+        }
+    }
+
+    @Override
+    public void perlin3D(float[] out, int seed, float frequency, float xStart, float yStart, float zStart,
+                         int width, int height, int depth, float step) {
+        int[] indices = gatherIndices.get();
+        FloatVector laneOffsets = FloatVector.fromArray(FLOATS, LANE_OFFSETS, 0);
+        int index = 0;
+
+        for (int k = 0; k < depth; k++) {
+            float z = (zStart + k * step) * frequency;
+            int z0 = fastFloor(z);
+            float zd0 = (float) (z - z0);
+            float zd1 = zd0 - 1;
+            float zs = interpQuintic(zd0);
+            int z0p = z0 * PRIME_Z;
+            int z1p = z0p + PRIME_Z;
+
+            for (int j = 0; j < height; j++) {
+                float y = (yStart + j * step) * frequency;
+                int y0 = fastFloor(y);
+                float yd0 = (float) (y - y0);
+                float yd1 = yd0 - 1;
+                float ys = interpQuintic(yd0);
+                int y0p = y0 * PRIME_Y;
+                int y1p = y0p + PRIME_Y;
+
+                for (int i = 0; i < width; i += LANES) {
+                    VectorMask<Float> mask = FLOATS.indexInRange(i, width);
+
+                    FloatVector x = laneOffsets.add(i).mul(step).add(xStart).mul(frequency);
+                    IntVector x0 = fastFloor(x);
+                    FloatVector xd0 = x.sub((FloatVector) x0.convert(VectorOperators.I2F, 0));
+                    FloatVector xd1 = xd0.sub(1);
+                    FloatVector xs = interpQuintic(xd0);
+
+                    FloatVector xf00, xf10, xf01, xf11;
+                    int firstCell = x0.lane(0);
+                    if (firstCell == x0.lane(Math.min(LANES, width - i) - 1)) {
+                        int x0s = firstCell * PRIME_X;
+                        int x1s = x0s + PRIME_X;
+                        xf00 = lerp(grad3D(seed, x0s, y0p, z0p, xd0, yd0, zd0), grad3D(seed, x1s, y0p, z0p, xd1, yd0, zd0), xs);
+                        xf10 = lerp(grad3D(seed, x0s, y1p, z0p, xd0, yd1, zd0), grad3D(seed, x1s, y1p, z0p, xd1, yd1, zd0), xs);
+                        xf01 = lerp(grad3D(seed, x0s, y0p, z1p, xd0, yd0, zd1), grad3D(seed, x1s, y0p, z1p, xd1, yd0, zd1), xs);
+                        xf11 = lerp(grad3D(seed, x0s, y1p, z1p, xd0, yd1, zd1), grad3D(seed, x1s, y1p, z1p, xd1, yd1, zd1), xs);
+                    } else {
+                        IntVector x0p = x0.mul(PRIME_X);
+                        IntVector x1p = x0p.add(PRIME_X);
+                        xf00 = lerp(grad3D(seed, x0p, y0p, z0p, xd0, yd0, zd0, indices),
+                            grad3D(seed, x1p, y0p, z0p, xd1, yd0, zd0, indices), xs);
+                        xf10 = lerp(grad3D(seed, x0p, y1p, z0p, xd0, yd1, zd0, indices),
+                            grad3D(seed, x1p, y1p, z0p, xd1, yd1, zd0, indices), xs);
+                        xf01 = lerp(grad3D(seed, x0p, y0p, z1p, xd0, yd0, zd1, indices),
+                            grad3D(seed, x1p, y0p, z1p, xd1, yd0, zd1, indices), xs);
+                        xf11 = lerp(grad3D(seed, x0p, y1p, z1p, xd0, yd1, zd1, indices),
+                            grad3D(seed, x1p, y1p, z1p, xd1, yd1, zd1, indices), xs);
+                    }
+
+                    FloatVector yf0 = xf10.sub(xf00).mul(ys).add(xf00);
+                    FloatVector yf1 = xf11.sub(xf01).mul(ys).add(xf01);
+
+                    FloatVector value = yf1.sub(yf0).mul(zs).add(yf0).mul(0.964921414852142333984375f);
+                    value.intoArray(out, index + i, mask);
+                }
+                index += width;
+            }
+        }
+    }
+
+    @Override
+    public void simplex2D(float[] out, int seed, float frequency, float xStart, float yStart, int width, int height, float step) {
+        int[] indices = gatherIndices.get();
+        FloatVector laneOffsets = FloatVector.fromArray(FLOATS, LANE_OFFSETS, 0);
+        FloatVector half = FloatVector.broadcast(FLOATS, 0.5f);
+        int index = 0;
+
+        for (int j = 0; j < height; j++) {
+            float yIn = (yStart + j * step) * frequency;
+
+            for (int i = 0; i < width; i += LANES) {
+                VectorMask<Float> mask = FLOATS.indexInRange(i, width);
+
+                // Skew as GetNoise does before calling SingleSimplex
+                FloatVector xIn = laneOffsets.add(i).mul(step).add(xStart).mul(frequency);
+                FloatVector skew = xIn.add(yIn).mul(F2);
+                FloatVector x = xIn.add(skew);
+                FloatVector y = skew.add(yIn);
+
+                IntVector cellX = fastFloor(x);
+                IntVector cellY = fastFloor(y);
+                FloatVector xi = x.sub((FloatVector) cellX.convert(VectorOperators.I2F, 0));
+                FloatVector yi = y.sub((FloatVector) cellY.convert(VectorOperators.I2F, 0));
+
+                FloatVector t = xi.add(yi).mul(G2);
+                FloatVector x0 = xi.sub(t);
+                FloatVector y0 = yi.sub(t);
+                FloatVector x2 = x0.add(2 * (float) G2 - 1);
+                FloatVector y2 = y0.add(2 * (float) G2 - 1);
+
+                // The middle corner is (0, 1) above the diagonal and (1, 0) below it
+                VectorMask<Float> above = y0.compare(VectorOperators.GT, x0);
+                FloatVector x1 = x0.add(FloatVector.broadcast(FLOATS, (float) G2 - 1).blend((float) G2, above));
+                FloatVector y1 = y0.add(FloatVector.broadcast(FLOATS, (float) G2).blend((float) G2 - 1, above));
+
+                FloatVector g0, g1, g2;
+                int last = Math.min(LANES, width - i) - 1;
+                int firstX = cellX.lane(0);
+                int firstY = cellY.lane(0);
+                if (firstX == cellX.lane(last) && firstY == cellY.lane(last)) {
+                    // At low frequencies all lanes usually share one simplex cell, so hash its corners once
+                    int xp = firstX * PRIME_X;
+                    int yp = firstY * PRIME_Y;
+                    g0 = grad2D(seed, xp, yp, x0, y0);
+                    g2 = grad2D(seed, xp + PRIME_X, yp + PRIME_Y, x2, y2);
+                    int belowIndex = gradIndex2D(seed, xp + PRIME_X, yp);
+                    int aboveIndex = gradIndex2D(seed, xp, yp + PRIME_Y);
+                    FloatVector xg = FloatVector.broadcast(FLOATS, FastNoiseLite.Gradients2D[belowIndex])
+                        .blend(FastNoiseLite.Gradients2D[aboveIndex], above);
+                    FloatVector yg = FloatVector.broadcast(FLOATS, FastNoiseLite.Gradients2D[belowIndex | 1])
+                        .blend(FastNoiseLite.Gradients2D[aboveIndex | 1], above);
+                    g1 = x1.mul(xg).add(y1.mul(yg));
+                } else {
+                    IntVector xPrimed = cellX.mul(PRIME_X);
+                    IntVector yPrimed = cellY.mul(PRIME_Y);
+                    VectorMask<Integer> aboveInts = above.cast(INTS);
+                    g0 = grad2D(seed, xPrimed, yPrimed, x0, y0, indices);
+                    g2 = grad2D(seed, xPrimed.add(PRIME_X), yPrimed.add(PRIME_Y), x2, y2, indices);
+                    g1 = grad2D(seed, xPrimed.add(PRIME_X, aboveInts.not()), yPrimed.add(PRIME_Y, aboveInts), x1, y1, indices);
+                }
+
+                FloatVector a = half.sub(x0.mul(x0)).sub(y0.mul(y0));
+                FloatVector n0 = a.mul(a).mul(a.mul(a)).mul(g0).blend(0f, a.compare(VectorOperators.LE, 0f));
+
+                FloatVector c = t.mul((float) (2 * (1 - 2 * G2) * (1 / G2 - 2))).add(a.add((float) (-2 * (1 - 2 * G2) * (1 - 2 * G2))));
+                FloatVector n2 = c.mul(c).mul(c.mul(c)).mul(g2).blend(0f, c.compare(VectorOperators.LE, 0f));
+
+                FloatVector b = half.sub(x1.mul(x1)).sub(y1.mul(y1));
+                FloatVector n1 = b.mul(b).mul(b.mul(b)).mul(g1).blend(0f, b.compare(VectorOperators.LE, 0f));
+
+                FloatVector value = n0.add(n1).add(n2).mul(99.83685446303647f);
+                value.intoArray(out, index + i, mask);
+            }
+            index += width;
+        }
+    }
+
+    @Override
+    public void cellular2D(float[] out, int seed, float frequency, float jitterModifier,
+                           FastNoiseLite.CellularDistanceFunction distanceFunction, FastNoiseLite.CellularReturnType returnType,
+                           float xStart, float yStart, int width, int height, float step) {
+        int[] indices = gatherIndices.get();
+        FloatVector laneOffsets = FloatVector.fromArray(FLOATS, LANE_OFFSETS, 0);
+        float cellularJitter = 0.43701595f * jitterModifier;
+        float[] randVecs = FastNoiseLite.RandVecs2D;
+        int index = 0;
+
+        for (int j = 0; j < height; j++) {
+            // Rows share y, so the y cells and their offsets are scalars
+            float y = (yStart + j * step) * frequency;
+            int yr = fastRound(y);
+
+            for (int i = 0; i < width; i += LANES) {
+                VectorMask<Float> mask = FLOATS.indexInRange(i, width);
+
+                FloatVector x = laneOffsets.add(i).mul(step).add(xStart).mul(frequency);
+                IntVector xr = fastRound(x);
+                int firstCell = xr.lane(0);
+                // At low frequencies all lanes usually search the same cells, so hash them once and broadcast
+                boolean shared = firstCell == xr.lane(Math.min(LANES, width - i) - 1);
+
+                FloatVector distance0 = FloatVector.broadcast(FLOATS, Float.MAX_VALUE);
+                FloatVector distance1 = distance0;
+                IntVector closestHash = IntVector.zero(INTS);
+
+                IntVector xPrimed = xr.sub(1).mul(PRIME_X);
+                int xPrimedShared = (firstCell - 1) * PRIME_X;
+                for (int xOffset = -1; xOffset <= 1; xOffset++) {
+                    FloatVector cellX = ((FloatVector) xr.add(xOffset).convert(VectorOperators.I2F, 0)).sub(x);
+                    int yPrimed = (yr - 1) * PRIME_Y;
+
+                    for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                        IntVector hash;
+                        FloatVector jitterX, jitterY;
+                        if (shared) {
+                            int sharedHash = (seed ^ xPrimedShared ^ yPrimed) * HASH_MULTIPLIER;
+                            int idx = sharedHash & (255 << 1);
+                            hash = IntVector.broadcast(INTS, sharedHash);
+                            jitterX = FloatVector.broadcast(FLOATS, randVecs[idx] * cellularJitter);
+                            jitterY = FloatVector.broadcast(FLOATS, randVecs[idx | 1] * cellularJitter);
+                        } else {
+                            hash = xPrimed.lanewise(VectorOperators.XOR, seed ^ yPrimed).mul(HASH_MULTIPLIER);
+                            hash.and(255 << 1).intoArray(indices, 0);
+                            jitterX = FloatVector.fromArray(FLOATS, randVecs, 0, indices, 0).mul(cellularJitter);
+                            jitterY = FloatVector.fromArray(FLOATS, randVecs, 1, indices, 0).mul(cellularJitter);
+                        }
+
+                        FloatVector vecX = cellX.add(jitterX);
+                        FloatVector vecY = jitterY.add((float) (yi - y));
+
+                        FloatVector newDistance;
+                        switch (distanceFunction) {
+                            case Manhattan:
+                                newDistance = fastAbs(vecX).add(fastAbs(vecY));
+                                break;
+                            case Hybrid:
+                                newDistance = fastAbs(vecX).add(fastAbs(vecY)).add(vecX.mul(vecX).add(vecY.mul(vecY)));
+                                break;
+                            default:
+                                newDistance = vecX.mul(vecX).add(vecY.mul(vecY));
+                                break;
+                        }
+
+                        distance1 = fastMax(fastMin(distance1, newDistance), distance0);
+                        VectorMask<Float> closer = newDistance.compare(VectorOperators.LT, distance0);
+                        distance0 = distance0.blend(newDistance, closer);
+                        closestHash = closestHash.blend(hash, closer.cast(INTS));
+                        yPrimed += PRIME_Y;
+                    }
+                    xPrimed = xPrimed.add(PRIME_X);
+                    xPrimedShared += PRIME_X;
+                }
+
+                cellularValue(distanceFunction, returnType, distance0, distance1, closestHash).intoArray(out, index + i, mask);
+            }
+            index += width;
+        }
+    }
+
+    @Override
+    public void cellular3D(float[] out, int seed, float frequency, float jitterModifier,
+                           FastNoiseLite.CellularDistanceFunction distanceFunction, FastNoiseLite.CellularReturnType returnType,
+                           float xStart, float yStart, float zStart, int width, int height, int depth, float step) {
+        int[] indices = gatherIndices.get();
+        FloatVector laneOffsets = FloatVector.fromArray(FLOATS, LANE_OFFSETS, 0);
+        float cellularJitter = 0.39614353f * jitterModifier;
+        float[] randVecs = FastNoiseLite.RandVecs3D;
+        int index = 0;
+
+        for (int k = 0; k < depth; k++) {
+            float z = (zStart + k * step) * frequency;
+            int zr = fastRound(z);
+
+            for (int j = 0; j < height; j++) {
+                float y = (yStart + j * step) * frequency;
+                int yr = fastRound(y);
+
+                for (int i = 0; i < width; i += LANES) {
+                    VectorMask<Float> mask = FLOATS.indexInRange(i, width);
+
+                    FloatVector x = laneOffsets.add(i).mul(step).add(xStart).mul(frequency);
+                    IntVector xr = fastRound(x);
+                    int firstCell = xr.lane(0);
+                    boolean shared = firstCell == xr.lane(Math.min(LANES, width - i) - 1);
+
+                    FloatVector distance0 = FloatVector.broadcast(FLOATS, Float.MAX_VALUE);
+                    FloatVector distance1 = distance0;
+                    IntVector closestHash = IntVector.zero(INTS);
+
+                    IntVector xPrimed = xr.sub(1).mul(PRIME_X);
+                    int xPrimedShared = (firstCell - 1) * PRIME_X;
+                    for (int xOffset = -1; xOffset <= 1; xOffset++) {
+                        FloatVector cellX = ((FloatVector) xr.add(xOffset).convert(VectorOperators.I2F, 0)).sub(x);
+                        int yPrimed = (yr - 1) * PRIME_Y;
+
+                        for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                            int zPrimed = (zr - 1) * PRIME_Z;
+
+                            for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                                IntVector hash;
+                                FloatVector jitterX, jitterY, jitterZ;
+                                if (shared) {
+                                    int sharedHash = (seed ^ xPrimedShared ^ yPrimed ^ zPrimed) * HASH_MULTIPLIER;
+                                    int idx = sharedHash & (255 << 2);
+                                    hash = IntVector.broadcast(INTS, sharedHash);
+                                    jitterX = FloatVector.broadcast(FLOATS, randVecs[idx] * cellularJitter);
+                                    jitterY = FloatVector.broadcast(FLOATS, randVecs[idx | 1] * cellularJitter);
+                                    jitterZ = FloatVector.broadcast(FLOATS, randVecs[idx | 2] * cellularJitter);
+                                } else {
+                                    hash = xPrimed.lanewise(VectorOperators.XOR, seed ^ yPrimed ^ zPrimed).mul(HASH_MULTIPLIER);
+                                    hash.and(255 << 2).intoArray(indices, 0);
+                                    jitterX = FloatVector.fromArray(FLOATS, randVecs, 0, indices, 0).mul(cellularJitter);
+                                    jitterY = FloatVector.fromArray(FLOATS, randVecs, 1, indices, 0).mul(cellularJitter);
+                                    jitterZ = FloatVector.fromArray(FLOATS, randVecs, 2, indices, 0).mul(cellularJitter);
+                                }
+
+                                FloatVector vecX = cellX.add(jitterX);
+                                FloatVector vecY = jitterY.add((float) (yi - y));
+                                FloatVector vecZ = jitterZ.add((float) (zi - z));
+
+                                FloatVector newDistance;
+                                switch (distanceFunction) {
+                                    case Manhattan:
+                                        newDistance = fastAbs(vecX).add(fastAbs(vecY)).add(fastAbs(vecZ));
+                                        break;
+                                    case Hybrid:
+                                        newDistance = fastAbs(vecX).add(fastAbs(vecY)).add(fastAbs(vecZ))
+                                            .add(vecX.mul(vecX).add(vecY.mul(vecY)).add(vecZ.mul(vecZ)));
+                                        break;
+                                    default:
+                                        newDistance = vecX.mul(vecX).add(vecY.mul(vecY)).add(vecZ.mul(vecZ));
+                                        break;
+                                }
+
+                                distance1 = fastMax(fastMin(distance1, newDistance), distance0);
+                                VectorMask<Float> closer = newDistance.compare(VectorOperators.LT, distance0);
+                                distance0 = distance0.blend(newDistance, closer);
+                                closestHash = closestHash.blend(hash, closer.cast(INTS));
+                                zPrimed += PRIME_Z;
+                            }
+                            yPrimed += PRIME_Y;
+                        }
+                        xPrimed = xPrimed.add(PRIME_X);
+                        xPrimedShared += PRIME_X;
+                    }
+
+                    cellularValue(distanceFunction, returnType, distance0, distance1, closestHash).intoArray(out, index + i, mask);
+                }
+                index += width;
+            }
+        }
+    }
+
+    // The return type switch at the end of SingleCellular
+    private static FloatVector cellularValue(FastNoiseLite.CellularDistanceFunction distanceFunction,
+                                             FastNoiseLite.CellularReturnType returnType,
+                                             FloatVector distance0, FloatVector distance1, IntVector closestHash) {
+        if (distanceFunction == FastNoiseLite.CellularDistanceFunction.Euclidean && returnType != FastNoiseLite.CellularReturnType.CellValue) {
+            distance0 = distance0.lanewise(VectorOperators.SQRT);
+            if (returnType != FastNoiseLite.CellularReturnType.Distance) {
+                distance1 = distance1.lanewise(VectorOperators.SQRT);
+            }
+        }
+
+        switch (returnType) {
+            case CellValue:
+                return ((FloatVector) closestHash.convert(VectorOperators.I2F, 0)).mul(1 / 2147483648.0f);
+            case Distance:
+                return distance0.sub(1);
+            case Distance2:
+                return distance1.sub(1);
+            case Distance2Add:
+                return distance1.add(distance0).mul(0.5f).sub(1);
+            case Distance2Sub:
+                return distance1.sub(distance0).sub(1);
+            case Distance2Mul:
+                return distance1.mul(distance0).mul(0.5f).sub(1);
+            case Distance2Div:
+                return distance0.div(distance1).sub(1);
+            default:
+                return FloatVector.zero(FLOATS);
+        }
+    }
+
+    // GradCoord: xd * xg + yd * yg with the gradient picked by the lattice hash
+    private static FloatVector grad2D(int seed, IntVector xPrimed, int yPrimed, FloatVector xd, float yd, int[] indices) {
+        IntVector hash = xPrimed.lanewise(VectorOperators.XOR, seed ^ yPrimed).mul(HASH_MULTIPLIER);
+        hash = hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1);
+        hash.intoArray(indices, 0);
+
+        FloatVector xg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients2D, 0, indices, 0);
+        FloatVector yg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients2D, 1, indices, 0);
+        return xd.mul(xg).add(yg.mul(yd));
+    }
+
+    // Same as above with y varying per lane
+    private static FloatVector grad2D(int seed, IntVector xPrimed, IntVector yPrimed, FloatVector xd, FloatVector yd, int[] indices) {
+        IntVector hash = xPrimed.lanewise(VectorOperators.XOR, yPrimed).lanewise(VectorOperators.XOR, seed).mul(HASH_MULTIPLIER);
+        hash = hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(127 << 1);
+        hash.intoArray(indices, 0);
+
+        FloatVector xg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients2D, 0, indices, 0);
+        FloatVector yg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients2D, 1, indices, 0);
+        return xd.mul(xg).add(yd.mul(yg));
+    }
+
+    // Same as above for a single lattice corner shared by all lanes
+    private static FloatVector grad2D(int seed, int xPrimed, int yPrimed, FloatVector xd, float yd) {
+        int hash = (seed ^ xPrimed ^ yPrimed) * HASH_MULTIPLIER;
+        hash ^= hash >> 15;
+        hash &= 127 << 1;
+        return xd.mul(FastNoiseLite.Gradients2D[hash]).add(FastNoiseLite.Gradients2D[hash | 1] * yd);
+    }
+
+    private static FloatVector grad2D(int seed, int xPrimed, int yPrimed, FloatVector xd, FloatVector yd) {
+        int hash = gradIndex2D(seed, xPrimed, yPrimed);
+        return xd.mul(FastNoiseLite.Gradients2D[hash]).add(yd.mul(FastNoiseLite.Gradients2D[hash | 1]));
+    }
+
+    private static int gradIndex2D(int seed, int xPrimed, int yPrimed) {
+        int hash = (seed ^ xPrimed ^ yPrimed) * HASH_MULTIPLIER;
+        hash ^= hash >> 15;
+        return hash & (127 << 1);
+    }
+
+    private static FloatVector grad3D(int seed, int xPrimed, int yPrimed, int zPrimed, FloatVector xd, float yd, float zd) {
+        int hash = (seed ^ xPrimed ^ yPrimed ^ zPrimed) * HASH_MULTIPLIER;
+        hash ^= hash >> 15;
+        hash &= 63 << 2;
+        return xd.mul(FastNoiseLite.Gradients3D[hash])
+            .add(FastNoiseLite.Gradients3D[hash | 1] * yd)
+            .add(FastNoiseLite.Gradients3D[hash | 2] * zd);
+    }
+
+    private static FloatVector grad3D(int seed, IntVector xPrimed, int yPrimed, int zPrimed,
+                                      FloatVector xd, float yd, float zd, int[] indices) {
+        IntVector hash = xPrimed.lanewise(VectorOperators.XOR, seed ^ yPrimed ^ zPrimed).mul(HASH_MULTIPLIER);
+        hash = hash.lanewise(VectorOperators.XOR, hash.lanewise(VectorOperators.ASHR, 15)).and(63 << 2);
+        hash.intoArray(indices, 0);
+
+        FloatVector xg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients3D, 0, indices, 0);
+        FloatVector yg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients3D, 1, indices, 0);
+        FloatVector zg = FloatVector.fromArray(FLOATS, FastNoiseLite.Gradients3D, 2, indices, 0);
+        return xd.mul(xg).add(yg.mul(yd)).add(zg.mul(zd));
+    }
+
+    // FastFloor: truncate, then step down for negative values (including negative integers, like the scalar version)
+    private static IntVector fastFloor(FloatVector f) {
+        IntVector truncated = (IntVector) f.convert(VectorOperators.F2I, 0);
+        VectorMask<Integer> negative = f.compare(VectorOperators.LT, 0f).cast(INTS);
+        return truncated.sub(1, negative);
+    }
+
+    private static int fastFloor(float f) {
+        return f >= 0 ? (int) f : (int) f - 1;
+    }
+
+    // FastRound: f + 0.5 or f - 0.5 by sign, then truncate
+    private static IntVector fastRound(FloatVector f) {
+        VectorMask<Float> negative = f.compare(VectorOperators.LT, 0f);
+        return (IntVector) f.add(FloatVector.broadcast(FLOATS, 0.5f).blend(-0.5f, negative)).convert(VectorOperators.F2I, 0);
+    }
+
+    private static int fastRound(float f) {
+        return f >= 0 ? (int) (f + 0.5f) : (int) (f - 0.5f);
+    }
+
+    // FastAbs leaves -0 as it is, unlike VectorOperators.ABS
+    private static FloatVector fastAbs(FloatVector f) {
+        return f.blend(f.neg(), f.compare(VectorOperators.LT, 0f));
+    }
+
+    // FastMin and FastMax return b on ties and NaN, unlike VectorOperators.MIN and MAX
+    private static FloatVector fastMin(FloatVector a, FloatVector b) {
+        return b.blend(a, a.compare(VectorOperators.LT, b));
+    }
+
+    private static FloatVector fastMax(FloatVector a, FloatVector b) {
+        return b.blend(a, a.compare(VectorOperators.GT, b));
+    }
+
+    // t * t * t * (t * (t * 6 - 15) + 10), evaluated left to right like the scalar version
+    private static FloatVector interpQuintic(FloatVector t) {
+        return t.mul(t).mul(t).mul(t.mul(t.mul(6).sub(15)).add(10));
+    }
+
+    private static float interpQuintic(float t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+
+    // a + t * (b - a)
+    private static FloatVector lerp(FloatVector a, FloatVector b, FloatVector t) {
+        return t.mul(b.sub(a)).add(a);
+    }
+}
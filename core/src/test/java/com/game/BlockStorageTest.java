@@ -0,0 +1,147 @@
+package com.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BlockStorageTest {
+    // Size of a storage holding a single value, with no data or counts
+    private static final int UNIFORM_BYTES = 16 + 16 + 2;
+
+    // Size while the palette has room for 1 << bits entries
+    private static int bytes(int bits) {
+        int entries = 1 << bits;
+        return 16 + 16 + entries * 2 + 16 + entries * 4 + 16 + Chunk.VOLUME * bits / 8;
+    }
+
+    private static void assertSameBlocks(short[] expected, BlockStorage storage) {
+        for (int i = 0; i < Chunk.VOLUME; i++) {
+            if (storage.get(i) != expected[i]) {
+                fail("Block " + i + " is " + storage.get(i) + ", expected " + expected[i]);
+            }
+        }
+    }
+
+    @Test
+    public void randomEditsMatchAPlainArray() {
+        RandomXS128 random = new RandomXS128(7);
+        // From two block types up to a full 8 bit palette
+        for (int types : new int[] {2, 3, 4, 5, 16, 17, 200, 256}) {
+            short[] expected = new short[Chunk.VOLUME];
+            BlockStorage storage = new BlockStorage((short) 0);
+            for (int round = 0; round < 8; round++) {
+                for (int i = 0; i < 2000; i++) {
+                    int index = random.nextInt(Chunk.VOLUME);
+                    short id = (short) random.nextInt(types);
+                    assertEquals(expected[index], storage.set(index, id));
+                    expected[index] = id;
+                }
+                assertSameBlocks(expected, storage);
+            }
+        }
+    }
+
+    @Test
+    public void widensThroughEveryWidth() {
+        BlockStorage storage = new BlockStorage((short) 0);
+        assertTrue(storage.isUniform());
+        assertEquals(UNIFORM_BYTES, storage.sizeInBytes());
+
+        short[] expected = new short[Chunk.VOLUME];
+        // Block type n goes to index n * 13, so entries of every width land on both sides of word boundaries
+        for (int id = 1; id < 256; id++) {
+            storage.set(id * 13, (short) id);
+            expected[id * 13] = (short) id;
+            int types = id + 1;
+            int bits = types <= 2 ? 1 : types <= 4 ? 2 : types <= 16 ? 4 : 8;
+            assertEquals("size with " + types + " types", bytes(bits), storage.sizeInBytes());
+        }
+        assertSameBlocks(expected, storage);
+    }
+
+    @Test
+    public void entriesNextToWordBoundariesAreIndependent() {
+        for (int types : new int[] {2, 4, 16, 256}) {
+            BlockStorage storage = new BlockStorage((short) 0);
+            short[] expected = new short[Chunk.VOLUME];
+            // Widen to the width of the given number of types first
+            for (int id = 1; id < types; id++) {
+                storage.set(Chunk.VOLUME - id, (short) id);
+                expected[Chunk.VOLUME - id] = (short) id;
+            }
+            // The last entry of each long and the first of the next hold the highest entry, all bits set
+            short high = (short) (types - 1);
+            for (int word = 64; word < Chunk.VOLUME / 2; word += 64) {
+                storage.set(word - 1, high);
+                storage.set(word, high);
+                expected[word - 1] = high;
+                expected[word] = high;
+            }
+            assertSameBlocks(expected, storage);
+            for (int word = 64; word < Chunk.VOLUME / 2; word += 64) {
+                storage.set(word, (short) 0);
+                expected[word] = 0;
+            }
+            assertSameBlocks(expected, storage);
+        }
+    }
+
+    @Test
+    public void freedEntriesAreReused() {
+        BlockStorage storage = new BlockStorage(BlockRegistry.AIR);
+        storage.set(10, BlockRegistry.STONE);
+        storage.set(20, BlockRegistry.GRASS);
+        assertEquals(bytes(2), storage.sizeInBytes());
+
+        // Removing the last stone frees its entry, so a third and fourth type still fit two bits
+        storage.set(10, BlockRegistry.AIR);
+        storage.set(30, (short) 7);
+        storage.set(40, (short) 8);
+        assertEquals(bytes(2), storage.sizeInBytes());
+        assertEquals(7, storage.get(30));
+        assertEquals(8, storage.get(40));
+        assertEquals(BlockRegistry.GRASS, storage.get(20));
+        assertEquals(BlockRegistry.AIR, storage.get(10));
+    }
+
+    @Test
+    public void collapsesWhenOneBlockCoversTheChunk() {
+        RandomXS128 random = new RandomXS128(11);
+        BlockStorage storage = new BlockStorage(BlockRegistry.AIR);
+        for (int i = 0; i < 3000; i++) {
+            storage.set(random.nextInt(Chunk.VOLUME), (short) random.nextInt(20));
+        }
+        assertFalse(storage.isUniform());
+
+        // Filled with a type that is in the palette, then with one that never was
+        for (short id : new short[] {BlockRegistry.STONE, (short) 99}) {
+            for (int i = 0; i < Chunk.VOLUME; i++) {
+                storage.set(i, id);
+            }
+            assertTrue(storage.isUniform());
+            assertEquals(UNIFORM_BYTES, storage.sizeInBytes());
+            for (int i = 0; i < Chunk.VOLUME; i += 97) {
+                assertEquals(id, storage.get(i));
+            }
+        }
+
+        // Widens again from the collapsed value
+        assertEquals(99, storage.set(5, BlockRegistry.GRASS));
+        assertEquals(bytes(1), storage.sizeInBytes());
+        storage.set(5, (short) 99);
+        assertTrue(storage.isUniform());
+        assertEquals(UNIFORM_BYTES, storage.sizeInBytes());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsMoreThan256Types() {
+        BlockStorage storage = new BlockStorage((short) 0);
+        for (int id = 1; id <= 256; id++) {
+            storage.set(id, (short) id);
+        }
+    }
+}
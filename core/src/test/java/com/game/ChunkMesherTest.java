@@ -0,0 +1,200 @@
+package com.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.math.RandomXS128;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkMesherTest {
+    private static final ChunkMesher.Tiles NO_TILES = new ChunkMesher.Tiles() {
+        @Override
+        public float tileU(short id) {
+            return 0;
+        }
+
+        @Override
+        public float tileV(short id) {
+            return 0;
+        }
+    };
+
+    private ChunkMesher mesher;
+    private short[] padded;
+    private ChunkMeshData out;
+
+    @Before
+    public void setUp() {
+        mesher = new ChunkMesher(NO_TILES, new Environment());
+        padded = new short[ChunkMesher.PADDED_VOLUME];
+        out = new ChunkMeshData();
+    }
+
+    private void set(int x, int y, int z, short id) {
+        padded[ChunkMesher.paddedIndex(x, y, z)] = id;
+    }
+
+    private void fill(int minY, int maxY, short id) {
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    set(x, y, z, id);
+                }
+            }
+        }
+    }
+
+    private int mesh() {
+        mesher.mesh(padded, out);
+        assertEquals(out.quadCount * 4, out.vertexCount());
+        assertEquals(out.quadCount * 6, out.indexCount());
+        // Every triangle stays within the four vertices of its own quad
+        for (int i = 0; i < out.indices.size; i++) {
+            int quad = (out.indices.get(i) & 0xFFFF) / 4;
+            assertEquals(i / 6, quad);
+        }
+        return out.quadCount;
+    }
+
+    private float vertex(int quad, int corner, int component) {
+        return out.vertices.get((quad * 4 + corner) * ChunkMesher.VERTEX_SIZE + component);
+    }
+
+    // Packed vertex color of a corner darkened to the given brightness; the default environment lights faces fully
+    private static float light(float brightness) {
+        return Color.toFloatBits(brightness, brightness, brightness, 1f);
+    }
+
+    @Test
+    public void emptyChunkHasNoFaces() {
+        assertEquals(0, mesh());
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    public void singleBlockHasSixFaces() {
+        set(5, 5, 5, BlockRegistry.STONE);
+        assertEquals(6, mesh());
+    }
+
+    @Test
+    public void flatFloorMergesIntoSixQuads() {
+        fill(0, 0, BlockRegistry.STONE);
+        assertEquals(6, mesh());
+    }
+
+    @Test
+    public void fullChunkMergesIntoSixQuads() {
+        fill(0, Chunk.SIZE - 1, BlockRegistry.STONE);
+        assertEquals(6, mesh());
+    }
+
+    @Test
+    public void buriedChunkHasNoFaces() {
+        Arrays.fill(padded, BlockRegistry.STONE);
+        assertEquals(0, mesh());
+    }
+
+    @Test
+    public void facesOfDifferentBlocksAreNotMerged() {
+        set(3, 3, 3, BlockRegistry.STONE);
+        set(4, 3, 3, BlockRegistry.GRASS);
+        assertEquals(10, mesh());
+
+        set(4, 3, 3, BlockRegistry.STONE);
+        assertEquals(6, mesh());
+    }
+
+    @Test
+    public void facesAgainstNeighbourChunksAreHidden() {
+        fill(0, 0, BlockRegistry.STONE);
+        for (int z = -1; z <= Chunk.SIZE; z++) {
+            for (int x = -1; x <= Chunk.SIZE; x++) {
+                set(x, -1, z, BlockRegistry.STONE);
+                set(x, 0, z, BlockRegistry.STONE);
+            }
+        }
+        // Only the top of the floor is left
+        assertEquals(1, mesh());
+    }
+
+    @Test
+    public void randomBlocksStayInsideTheChunk() {
+        RandomXS128 random = new RandomXS128(42);
+        for (int i = 0; i < padded.length; i++) {
+            if (random.nextFloat() < 0.3f) padded[i] = random.nextBoolean() ? BlockRegistry.STONE : BlockRegistry.GRASS;
+        }
+        assertTrue(mesh() > 0);
+
+        for (int i = 0; i < out.vertices.size; i += ChunkMesher.VERTEX_SIZE) {
+            for (int axis = 0; axis < 3; axis++) {
+                float p = out.vertices.get(i + axis);
+                assertTrue(p >= 0 && p <= Chunk.SIZE);
+            }
+        }
+    }
+
+    @Test
+    public void cornersNextToABlockAreOccluded() {
+        fill(0, 0, BlockRegistry.STONE);
+        set(8, 1, 8, BlockRegistry.STONE);
+        mesh();
+
+        int floorCorners = 0;
+        int sideCorners = 0;
+        for (int q = 0; q < out.quadCount; q++) {
+            float minY = Float.MAX_VALUE;
+            float maxY = -Float.MAX_VALUE;
+            for (int c = 0; c < 4; c++) {
+                minY = Math.min(minY, vertex(q, c, 1));
+                maxY = Math.max(maxY, vertex(q, c, 1));
+            }
+            boolean floorTop = minY == 1 && maxY == 1;
+            boolean blockSide = minY == 1 && maxY == 2;
+
+            for (int c = 0; c < 4; c++) {
+                float x = vertex(q, c, 0);
+                float y = vertex(q, c, 1);
+                float z = vertex(q, c, 2);
+                float expected = light(1f);
+                if (floorTop && x >= 8 && x <= 9 && z >= 8 && z <= 9) {
+                    // One side of the corner is the block
+                    expected = light(0.85f);
+                    floorCorners++;
+                } else if (blockSide && y == 1) {
+                    // The floor below and the floor cell diagonally below
+                    expected = light(0.65f);
+                    sideCorners++;
+                }
+                assertEquals(expected, vertex(q, c, 3), 0f);
+            }
+        }
+        assertTrue(floorCorners > 0);
+        assertEquals(8, sideCorners);
+    }
+
+    @Test
+    public void cornerBetweenTwoBlocksIsFullyOccluded() {
+        fill(0, 0, BlockRegistry.STONE);
+        set(8, 1, 7, BlockRegistry.STONE);
+        set(7, 1, 8, BlockRegistry.STONE);
+        mesh();
+
+        // The floor corner at (8, 1, 8) of the cell (8, 8) touches both blocks, whatever the diagonal block is
+        boolean found = false;
+        for (int q = 0; q < out.quadCount; q++) {
+            for (int c = 0; c < 4; c++) {
+                if (vertex(q, c, 0) == 8 && vertex(q, c, 1) == 1 && vertex(q, c, 2) == 8
+                    && vertex(q, c, 3) == light(0.45f)) {
+                    found = true;
+                }
+            }
+        }
+        assertTrue(found);
+    }
+}
@@ -0,0 +1,113 @@
+package com.game;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Vector3;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkRendererTest {
+    private static final float FOV = 67;
+    private static final float ASPECT = 16f / 9f;
+    private static final float NEAR = 0.1f;
+    private static final float FAR = 300;
+
+    /**
+     * The frustum of a perspective camera, built from its corners. Camera.update() cannot run here, it projects
+     * the corners with a native Matrix4 method.
+     */
+    private static Frustum frustum(Vector3 position, Vector3 direction) {
+        Vector3 forward = direction.cpy().nor();
+        Vector3 right = forward.cpy().crs(Vector3.Y).nor();
+        Vector3 up = right.cpy().crs(forward).nor();
+        float tan = (float) Math.tan(FOV / 2 * MathUtils.degreesToRadians);
+
+        Vector3[] near = corners(position, forward, right, up, NEAR, tan);
+        Vector3[] far = corners(position, forward, right, up, FAR, tan);
+        Frustum frustum = new Frustum();
+        Plane[] planes = frustum.planes;
+        planes[0].set(near[0], near[1], near[2]);
+        planes[1].set(far[0], far[1], far[2]);
+        planes[2].set(near[0], near[3], far[3]);
+        planes[3].set(near[1], near[2], far[2]);
+        planes[4].set(near[0], near[1], far[1]);
+        planes[5].set(near[3], near[2], far[2]);
+
+        // Normals point into the frustum, as Frustum.boundsInFrustum expects
+        Vector3 inside = forward.cpy().scl((NEAR + FAR) / 2).add(position);
+        for (Plane plane : planes) {
+            if (plane.distance(inside) < 0) {
+                plane.normal.scl(-1);
+                plane.d = -plane.d;
+            }
+        }
+        return frustum;
+    }
+
+    // Bottom left, bottom right, top right, top left
+    private static Vector3[] corners(Vector3 position, Vector3 forward, Vector3 right, Vector3 up, float distance,
+                                     float tan) {
+        Vector3 center = forward.cpy().scl(distance).add(position);
+        float halfHeight = distance * tan;
+        float halfWidth = halfHeight * ASPECT;
+        return new Vector3[] {
+            center.cpy().mulAdd(right, -halfWidth).mulAdd(up, -halfHeight),
+            center.cpy().mulAdd(right, halfWidth).mulAdd(up, -halfHeight),
+            center.cpy().mulAdd(right, halfWidth).mulAdd(up, halfHeight),
+            center.cpy().mulAdd(right, -halfWidth).mulAdd(up, halfHeight),
+        };
+    }
+
+    private static boolean visible(Frustum frustum, int cx, int cy, int cz) {
+        return ChunkRenderer.isVisible(frustum, new Chunk(cx, cy, cz));
+    }
+
+    @Test
+    public void chunksInFrontAreDrawnAndOthersCulled() {
+        // In chunk (0, 1, 0), looking along +z
+        Frustum frustum = frustum(new Vector3(8, 24, 8), new Vector3(0, 0, 1));
+
+        assertTrue(visible(frustum, 0, 1, 0));
+        assertTrue(visible(frustum, 0, 1, 1));
+        assertTrue(visible(frustum, 0, 1, 5));
+        assertTrue(visible(frustum, 1, 0, 3));
+
+        // Behind, also right behind the camera's own chunk
+        assertFalse(visible(frustum, 0, 1, -1));
+        assertFalse(visible(frustum, 0, 1, -4));
+        assertFalse(visible(frustum, 3, 1, -2));
+
+        // Beside, above and below, and past the far plane
+        assertFalse(visible(frustum, 10, 1, 1));
+        assertFalse(visible(frustum, -10, 1, 1));
+        assertFalse(visible(frustum, 0, 6, 1));
+        assertFalse(visible(frustum, 0, -5, 1));
+        assertFalse(visible(frustum, 0, 1, 20));
+    }
+
+    @Test
+    public void chunksCutByTheEdgeOfTheViewAreDrawn() {
+        Frustum frustum = frustum(new Vector3(8, 24, 8), new Vector3(0, 0, 1));
+
+        // The sides of the view open at about 50 degrees, at z 47.5 they are 46.5 to either side of the camera
+        assertTrue(visible(frustum, 3, 1, 2));
+        assertFalse(visible(frustum, 4, 1, 2));
+        assertTrue(visible(frustum, -3, 1, 2));
+        assertFalse(visible(frustum, -4, 1, 2));
+    }
+
+    @Test
+    public void followsTheCameraDirection() {
+        // Turned around to -x and looking down a little
+        Frustum frustum = frustum(new Vector3(8, 24, 8), new Vector3(-1, -0.3f, 0));
+
+        assertTrue(visible(frustum, -2, 1, 0));
+        assertTrue(visible(frustum, -3, 0, 0));
+        assertFalse(visible(frustum, 2, 1, 0));
+        assertFalse(visible(frustum, 0, 1, 3));
+        assertFalse(visible(frustum, 0, 1, -3));
+    }
+}
@@ -0,0 +1,76 @@
+package com.game;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameProfilerTest {
+    private static final int WRAPPED = FrameProfiler.FRAMES + 400;
+
+    @Test
+    public void statsCoverOnlyTheLastFrames() {
+        FrameProfiler profiler = new FrameProfiler();
+        int ramp = profiler.add("ramp");
+        int spikes = profiler.add("spikes");
+        for (int f = 0; f < WRAPPED; f++) {
+            profiler.addTime(ramp, f);
+            // Entered twice in the frame, the times add up
+            profiler.addTime(spikes, 2);
+            profiler.addTime(spikes, f == 100 ? 2_000_000 : f == 950 ? 1_000_000 : 3);
+            profiler.endFrame();
+        }
+        profiler.computeStats();
+
+        assertEquals(FrameProfiler.FRAMES, profiler.frameCount());
+        // Frames 400 to 999 are left, nearest rank: 300th and 594th of 600
+        assertEquals(400 + 299, profiler.p50[ramp]);
+        assertEquals(400 + 593, profiler.p99[ramp]);
+        assertEquals(WRAPPED - 1, profiler.max[ramp]);
+        // The spike of frame 100 was overwritten, a single spike in 600 frames stays out of p99
+        assertEquals(5, profiler.p50[spikes]);
+        assertEquals(5, profiler.p99[spikes]);
+        assertEquals(1_000_002, profiler.max[spikes]);
+    }
+
+    @Test
+    public void statsOfAPartlyFilledBuffer() {
+        FrameProfiler profiler = new FrameProfiler();
+        int section = profiler.add("section");
+        profiler.computeStats();
+        assertEquals(0, profiler.max[section]);
+
+        // 1 to 100 in shuffled order
+        for (int f = 0; f < 100; f++) {
+            profiler.addTime(section, f * 37 % 100 + 1);
+            profiler.endFrame();
+        }
+        profiler.computeStats();
+        assertEquals(100, profiler.frameCount());
+        assertEquals(50, profiler.p50[section]);
+        assertEquals(99, profiler.p99[section]);
+        assertEquals(100, profiler.max[section]);
+    }
+
+    @Test
+    public void csvListsTheFramesOldestFirst() throws IOException {
+        FrameProfiler profiler = new FrameProfiler();
+        int a = profiler.add("a");
+        int b = profiler.add("b");
+        for (int f = 0; f < WRAPPED; f++) {
+            profiler.addTime(a, f * 1_000_000L);
+            profiler.addTime(b, 500_000);
+            profiler.endFrame();
+        }
+        StringWriter out = new StringWriter();
+        profiler.writeCsv(out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(FrameProfiler.FRAMES + 1, lines.length);
+        assertEquals("frame,a,b", lines[0]);
+        assertEquals("0,400.0,0.5", lines[1]);
+        assertEquals((FrameProfiler.FRAMES - 1) + "," + (WRAPPED - 1) + ".0,0.5", lines[FrameProfiler.FRAMES]);
+    }
+}
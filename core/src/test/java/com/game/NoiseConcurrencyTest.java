@@ -0,0 +1,158 @@
+package com.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Many threads sampling one shared {@link NoiseConfig}, and generating terrain from one shared
+ * {@link TerrainGenerator}, must get exactly what a single thread gets.
+ */
+public class NoiseConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+    private static final int SIZE = 32;
+
+    private static NoiseConfig config() {
+        return NoiseConfig.builder()
+            .seed(42)
+            .frequency(0.03f)
+            .noiseType(FastNoiseLite.NoiseType.OpenSimplex2)
+            .rotationType3D(FastNoiseLite.RotationType3D.ImproveXZPlanes)
+            .fractalType(FastNoiseLite.FractalType.FBm)
+            .octaves(4)
+            .build();
+    }
+
+    // Point samples followed by grid samples of the same area, as raw float bits
+    private static int[] sampleAll(NoiseConfig noise) {
+        int[] bits = new int[SIZE * SIZE * 2 + SIZE * SIZE * 4 * 2];
+        int n = 0;
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                bits[n++] = Float.floatToIntBits(noise.sample(x - 10, y - 10));
+            }
+        }
+        for (int z = 0; z < 4; z++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    bits[n++] = Float.floatToIntBits(noise.sample(x - 10, y - 10, z));
+                }
+            }
+        }
+        float[] grid = new float[SIZE * SIZE * 4];
+        noise.sampleGrid(grid, -10, -10, SIZE, SIZE, 1);
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            bits[n++] = Float.floatToIntBits(grid[i]);
+        }
+        noise.sampleGrid(grid, -10, -10, 0, SIZE, SIZE, 4, 1);
+        for (int i = 0; i < SIZE * SIZE * 4; i++) {
+            bits[n++] = Float.floatToIntBits(grid[i]);
+        }
+        return bits;
+    }
+
+    private static short[] generateAll(TerrainGenerator generator, int startColumn) {
+        short[] blocks = new short[4 * 4 * 4 * Chunk.VOLUME];
+        // Threads start at different columns, so they race on different cache entries at any moment
+        for (int c = 0; c < 16; c++) {
+            int column = (startColumn + c) % 16;
+            for (int cy = 0; cy < 4; cy++) {
+                Chunk chunk = new Chunk(column % 4 - 2, cy, column / 4 - 2);
+                generator.generate(chunk);
+                int base = (column * 4 + cy) * Chunk.VOLUME;
+                for (int y = 0; y < Chunk.SIZE; y++) {
+                    for (int z = 0; z < Chunk.SIZE; z++) {
+                        for (int x = 0; x < Chunk.SIZE; x++) {
+                            blocks[base + Chunk.index(x, y, z)] = chunk.getBlock(x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private static <T> List<T> runConcurrently(final Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(new Callable<T>() {
+                    @Override
+                    public T call() throws Exception {
+                        start.await();
+                        return task.call();
+                    }
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sharedConfigSamplesLikeASingleThread() throws Exception {
+        int[] reference = sampleAll(config());
+        final NoiseConfig shared = config();
+
+        List<int[]> results = runConcurrently(new Callable<int[]>() {
+            @Override
+            public int[] call() {
+                int[] last = null;
+                for (int round = 0; round < ROUNDS; round++) {
+                    int[] bits = sampleAll(shared);
+                    if (last != null) assertArrayEquals(last, bits);
+                    last = bits;
+                }
+                return last;
+            }
+        });
+        assertEquals(THREADS, results.size());
+        for (int[] bits : results) {
+            assertArrayEquals(reference, bits);
+        }
+    }
+
+    @Test
+    public void sharedGeneratorGeneratesLikeASingleThread() throws Exception {
+        short[] reference = generateAll(new TerrainGenerator(config(), 64), 0);
+        // A cache smaller than the area keeps evicting, so threads also race on sampling the same columns
+        final TerrainGenerator shared = new TerrainGenerator(config(), 4);
+
+        final int[] nextStart = {0};
+        List<short[]> results = runConcurrently(new Callable<short[]>() {
+            @Override
+            public short[] call() {
+                int start;
+                synchronized (nextStart) {
+                    start = nextStart[0]++;
+                }
+                short[] blocks = null;
+                for (int round = 0; round < ROUNDS / 4; round++) {
+                    blocks = generateAll(shared, start * 2);
+                }
+                return blocks;
+            }
+        });
+        for (short[] blocks : results) {
+            assertArrayEquals(reference, blocks);
+        }
+    }
+}
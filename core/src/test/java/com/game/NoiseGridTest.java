@@ -0,0 +1,91 @@
+package com.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/** The grid API must return exactly what GetNoise returns for every sample, for every noise setting. */
+public class NoiseGridTest {
+    // Odd sizes leave partial vectors at the end of each row, negative starts cross the origin
+    private static final int WIDTH = 37, HEIGHT = 11, DEPTH = 5;
+    private static final float X = -23.5f, Y = -7.25f, Z = 3f;
+
+    private static void assertGrid2D(FastNoiseLite noise, float step) {
+        float[] grid = new float[WIDTH * HEIGHT];
+        noise.GenUniformGrid2D(grid, X, Y, WIDTH, HEIGHT, step);
+        for (int j = 0; j < HEIGHT; j++) {
+            for (int i = 0; i < WIDTH; i++) {
+                float expected = noise.GetNoise(X + i * step, Y + j * step);
+                assertEquals("sample " + i + ", " + j, Float.floatToIntBits(expected),
+                    Float.floatToIntBits(grid[j * WIDTH + i]));
+            }
+        }
+    }
+
+    private static void assertGrid3D(FastNoiseLite noise, float step) {
+        float[] grid = new float[WIDTH * HEIGHT * DEPTH];
+        noise.GenUniformGrid3D(grid, X, Y, Z, WIDTH, HEIGHT, DEPTH, step);
+        for (int k = 0; k < DEPTH; k++) {
+            for (int j = 0; j < HEIGHT; j++) {
+                for (int i = 0; i < WIDTH; i++) {
+                    float expected = noise.GetNoise(X + i * step, Y + j * step, Z + k * step);
+                    assertEquals("sample " + i + ", " + j + ", " + k, Float.floatToIntBits(expected),
+                        Float.floatToIntBits(grid[(k * HEIGHT + j) * WIDTH + i]));
+                }
+            }
+        }
+    }
+
+    private static FastNoiseLite noise(FastNoiseLite.NoiseType type, float frequency) {
+        FastNoiseLite noise = new FastNoiseLite(1337);
+        noise.SetNoiseType(type);
+        noise.SetFrequency(frequency);
+        return noise;
+    }
+
+    @Test
+    public void gridMatchesGetNoiseForEveryNoiseType() {
+        for (FastNoiseLite.NoiseType type : FastNoiseLite.NoiseType.values()) {
+            // Low frequencies keep many samples in one lattice cell, high ones cross a cell per sample
+            for (float frequency : new float[]{0.02f, 0.3f, 1.7f}) {
+                FastNoiseLite noise = noise(type, frequency);
+                assertGrid2D(noise, 1);
+                assertGrid2D(noise, 0.37f);
+                assertGrid3D(noise, 1);
+            }
+        }
+    }
+
+    @Test
+    public void gridMatchesGetNoiseForFractals() {
+        for (FastNoiseLite.FractalType fractal : new FastNoiseLite.FractalType[]{
+            FastNoiseLite.FractalType.FBm, FastNoiseLite.FractalType.Ridged, FastNoiseLite.FractalType.PingPong}) {
+            FastNoiseLite noise = noise(FastNoiseLite.NoiseType.Perlin, 0.05f);
+            noise.SetFractalType(fractal);
+            assertGrid2D(noise, 1);
+            assertGrid3D(noise, 1);
+        }
+    }
+
+    @Test
+    public void gridMatchesGetNoiseForCellularSettings() {
+        for (FastNoiseLite.CellularDistanceFunction distance : FastNoiseLite.CellularDistanceFunction.values()) {
+            for (FastNoiseLite.CellularReturnType returnType : FastNoiseLite.CellularReturnType.values()) {
+                FastNoiseLite noise = noise(FastNoiseLite.NoiseType.Cellular, 0.2f);
+                noise.SetCellularDistanceFunction(distance);
+                noise.SetCellularReturnType(returnType);
+                assertGrid2D(noise, 1);
+                assertGrid3D(noise, 1);
+            }
+        }
+    }
+
+    @Test
+    public void gridMatchesGetNoiseForRotatedCoordinates() {
+        for (FastNoiseLite.RotationType3D rotation : FastNoiseLite.RotationType3D.values()) {
+            FastNoiseLite noise = noise(FastNoiseLite.NoiseType.Perlin, 0.1f);
+            noise.SetRotationType3D(rotation);
+            assertGrid3D(noise, 1);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.game;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class RegionFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] payload(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + seed);
+        }
+        return bytes;
+    }
+
+    private static void write(RegionFile region, int index, byte[] payload) throws IOException {
+        region.write(index, payload, payload.length);
+    }
+
+    // Byte position of the chunk's data in the file, from its location table entry
+    private static long dataPosition(Path path, int index) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            file.seek(index * 4L);
+            return (long) (file.readInt() >>> 8) * RegionFile.SECTOR_BYTES;
+        }
+    }
+
+    @Test
+    public void payloadsSurviveReopening() throws IOException {
+        Path path = folder.newFile("r.0.0.0.edits").toPath();
+        byte[] small = payload(40, 1);
+        byte[] empty = payload(0, 2);
+        byte[] large = payload(RegionFile.SECTOR_BYTES * 5 + 17, 3);
+        byte[] rewritten = payload(300, 4);
+        try (RegionFile region = new RegionFile(path)) {
+            write(region, RegionFile.index(0, 0), small);
+            write(region, RegionFile.index(31, 0), empty);
+            write(region, RegionFile.index(-1, -1), large);
+            write(region, RegionFile.index(5, 7), payload(10, 5));
+            write(region, RegionFile.index(5, 7), rewritten);
+            assertArrayEquals(large, region.read(RegionFile.index(31, 31)));
+        }
+
+        try (RegionFile region = new RegionFile(path)) {
+            assertArrayEquals(small, region.read(RegionFile.index(0, 0)));
+            assertArrayEquals(empty, region.read(RegionFile.index(31, 0)));
+            assertArrayEquals(large, region.read(RegionFile.index(31, 31)));
+            assertArrayEquals(rewritten, region.read(RegionFile.index(5, 7)));
+            assertNull(region.read(RegionFile.index(1, 1)));
+        }
+    }
+
+    @Test
+    public void flippedByteFailsOnlyItsChunk() throws IOException {
+        Path path = folder.newFile("r.0.0.0.edits").toPath();
+        byte[] damaged = payload(100, 1);
+        byte[] intact = payload(100, 2);
+        try (RegionFile region = new RegionFile(path)) {
+            write(region, 0, damaged);
+            write(region, 1, intact);
+        }
+
+        long position = dataPosition(path, 0) + 8 + 50;
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(position);
+            int b = file.read();
+            file.seek(position);
+            file.write(b ^ 0x10);
+        }
+
+        try (RegionFile region = new RegionFile(path)) {
+            try {
+                region.read(0);
+                fail("Damaged payload was returned");
+            } catch (IOException expected) {
+            }
+            assertArrayEquals(intact, region.read(1));
+        }
+    }
+
+    @Test
+    public void writeTornBeforeTheLocationSwitchKeepsTheOldVersion() throws IOException {
+        Path path = folder.newFile("r.0.0.0.edits").toPath();
+        byte[] old = payload(100, 1);
+        try (RegionFile region = new RegionFile(path)) {
+            write(region, 0, old);
+        }
+
+        // A crash after writing the new sectors but before the location entry leaves garbage behind the last chunk
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length());
+            file.write(payload(RegionFile.SECTOR_BYTES + 70, 9));
+        }
+
+        byte[] next = payload(RegionFile.SECTOR_BYTES * 2, 3);
+        try (RegionFile region = new RegionFile(path)) {
+            assertArrayEquals(old, region.read(0));
+            // The garbage sectors are free space, reusing them must not disturb the old chunk
+            write(region, 1, next);
+            assertArrayEquals(old, region.read(0));
+            assertArrayEquals(next, region.read(1));
+        }
+    }
+
+    @Test
+    public void truncatedFileDropsOnlyTheCutChunk() throws IOException {
+        Path path = folder.newFile("r.0.0.0.edits").toPath();
+        byte[] first = payload(100, 1);
+        byte[] last = payload(RegionFile.SECTOR_BYTES * 3, 2);
+        try (RegionFile region = new RegionFile(path)) {
+            write(region, 0, first);
+            write(region, 1, last);
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(file.length() - RegionFile.SECTOR_BYTES - 10);
+        }
+
+        byte[] replacement = payload(RegionFile.SECTOR_BYTES * 2, 3);
+        try (RegionFile region = new RegionFile(path)) {
+            assertArrayEquals(first, region.read(0));
+            assertNull(region.read(1));
+            write(region, 1, replacement);
+        }
+        try (RegionFile region = new RegionFile(path)) {
+            assertArrayEquals(first, region.read(0));
+            assertArrayEquals(replacement, region.read(1));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationTest {
+    // Top of the stone floor, in chunk y 0
+    private static final int FLOOR = 4;
+    // Ticks per lap of the circle the player walks, about 3 blocks across
+    private static final int LAP = 120;
+
+    private final ChunkMap chunks = new ChunkMap();
+    private final PlayerInput input = new PlayerInput();
+    private final Vector3 look = new Vector3();
+    private Player player;
+    private Simulation simulation;
+    private SimulationSnapshot snapshot;
+    private long time;
+    private int tick;
+    private long initialBlockBytes;
+
+    @Before
+    public void setUp() {
+        for (int cx = -1; cx <= 1; cx++) {
+            for (int cz = -1; cz <= 1; cz++) {
+                for (int cy = TerrainGenerator.MIN_CHUNK_Y; cy <= TerrainGenerator.MAX_CHUNK_Y; cy++) {
+                    Chunk chunk = new Chunk(cx, cy, cz);
+                    for (int y = 0; y < Chunk.SIZE && cy * Chunk.SIZE + y <= FLOOR; y++) {
+                        for (int z = 0; z < Chunk.SIZE; z++) {
+                            for (int x = 0; x < Chunk.SIZE; x++) {
+                                chunk.setBlock(x, y, z, BlockRegistry.STONE);
+                            }
+                        }
+                    }
+                    chunks.put(chunk);
+                }
+            }
+        }
+        initialBlockBytes = blockBytes();
+        player = new Player(new Vector3(0.5f, FLOOR + 2, 0.5f));
+        simulation = new Simulation(chunks, new Object(), player, input, 0);
+        snapshot = simulation.first();
+    }
+
+    // Walks in a circle looking at the floor ahead, jumps now and then, and breaks and refills the targeted block.
+    // The path repeats, so after warm-up the clicks only edit blocks that were edited before.
+    private void run(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            float angle = MathUtils.PI2 * tick / LAP;
+            input.setLook(look.set(0.8f * MathUtils.cos(angle), -0.6f, 0.8f * MathUtils.sin(angle)));
+            input.forward = true;
+            input.up = tick % 50 < 5;
+            // Only from the ground, within reach of the block below the broken one, so every hole is filled again
+            if (tick % 10 == 0 && player.onGround) {
+                input.breakClicks.incrementAndGet();
+                input.placeClicks.incrementAndGet();
+            }
+            time += Simulation.TICK_NANOS;
+            tick++;
+            simulation.tick(time);
+
+            // What the render thread does every frame
+            SimulationSnapshot next;
+            while ((next = snapshot.next) != null) {
+                snapshot = next;
+            }
+            simulation.release(snapshot);
+        }
+    }
+
+    private long blockBytes() {
+        long bytes = 0;
+        for (Chunk chunk : chunks.values()) {
+            bytes += chunk.storageBytes();
+        }
+        return bytes;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void ticksDoNotAllocate() {
+        // Fills the snapshot pool, the click buffers and the edit maps, and lets the JIT settle
+        run(20 * LAP);
+
+        long before = allocatedBytes();
+        long overhead = allocatedBytes() - before;
+        // A late deoptimization may allocate once in compiled code, an allocation per tick shows in every window
+        long allocated = Long.MAX_VALUE;
+        for (int window = 0; window < 3 && allocated > 0; window++) {
+            before = allocatedBytes();
+            run(1000);
+            allocated = Math.min(allocated, allocatedBytes() - before - overhead);
+        }
+        assertEquals("bytes allocated by 1000 ticks", 0, allocated);
+    }
+
+    @Test
+    public void clicksEditTheFloorAndPublishTheChanges() {
+        run(LAP);
+        assertTrue(player.position.y > FLOOR + 1);
+        assertTrue(snapshot.x == player.position.x && snapshot.z == player.position.z);
+
+        input.breakClicks.incrementAndGet();
+        input.setLook(look.set(0, -1, 0));
+        input.forward = false;
+        input.up = false;
+        simulation.tick(time += Simulation.TICK_NANOS);
+        snapshot = snapshot.next;
+        assertEquals(3, snapshot.changedBlocks.size);
+        int x = snapshot.changedBlocks.get(0);
+        int y = snapshot.changedBlocks.get(1);
+        int z = snapshot.changedBlocks.get(2);
+        assertEquals(FLOOR, y);
+        assertEquals(BlockRegistry.AIR, chunks.getBlock(x, y, z));
+        assertTrue(chunks.getAt(x, y, z).modified);
+    }
+
+    @Test
+    public void editsAreCountedInTheBlockStorageSize() {
+        // A block in the empty chunk above the floor widens its palette, and removing it collapses it again
+        simulation.setBlock(3, Chunk.SIZE + 3, 3, BlockRegistry.STONE);
+        simulation.tick(time += Simulation.TICK_NANOS);
+        snapshot = snapshot.next;
+        assertTrue(snapshot.editedBlockBytes > 0);
+        assertEquals(blockBytes() - initialBlockBytes, snapshot.editedBlockBytes);
+
+        simulation.setBlock(3, Chunk.SIZE + 3, 3, BlockRegistry.AIR);
+        simulation.tick(time += Simulation.TICK_NANOS);
+        snapshot = snapshot.next;
+        assertEquals(0, snapshot.editedBlockBytes);
+        assertEquals(initialBlockBytes, blockBytes());
+    }
+}
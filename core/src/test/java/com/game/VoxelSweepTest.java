@@ -0,0 +1,112 @@
+package com.game;
+
+import com.badlogic.gdx.math.collision.BoundingBox;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VoxelSweepTest {
+    private final ChunkMap chunks = new ChunkMap();
+    private final VoxelSweep sweep = new VoxelSweep();
+
+    private void solid(int x, int y, int z) {
+        Chunk chunk = chunks.getAt(x, y, z);
+        if (chunk == null) {
+            chunk = new Chunk(ChunkMap.toChunk(x), ChunkMap.toChunk(y), ChunkMap.toChunk(z));
+            chunks.put(chunk);
+        }
+        chunk.setBlock(ChunkMap.toLocal(x), ChunkMap.toLocal(y), ChunkMap.toLocal(z), BlockRegistry.STONE);
+    }
+
+    // A single layer of blocks at y 0, its top face at 0.5
+    private void floor(int minX, int maxX, int minZ, int maxZ) {
+        for (int z = minZ; z <= maxZ; z++) {
+            for (int x = minX; x <= maxX; x++) {
+                solid(x, 0, z);
+            }
+        }
+    }
+
+    // A player sized box with its feet at the given height
+    private static BoundingBox box(float x, float feet, float z) {
+        BoundingBox box = new BoundingBox();
+        box.min.set(x - 0.25f, feet, z - 0.25f);
+        box.max.set(x + 0.25f, feet + 1.8f, z + 0.25f);
+        box.update();
+        return box;
+    }
+
+    @Test
+    public void longFallLandsOnAThinFloor() {
+        floor(-2, 2, -2, 2);
+        BoundingBox box = box(0.3f, 100.6f, -0.2f);
+
+        sweep.move(chunks, box, 0, -110, 0);
+
+        assertEquals(0.5f + VoxelSweep.SKIN, box.min.y, 0f);
+        assertEquals(0.5f + VoxelSweep.SKIN - 100.6f, sweep.dy, 1e-4f);
+        assertEquals(1, sweep.normalY);
+        assertEquals(0, sweep.normalX);
+        assertEquals(0, sweep.normalZ);
+        assertEquals(0.3f - 0.25f, box.min.x, 0f);
+    }
+
+    @Test
+    public void walkingIntoAWallSlidesAlongIt() {
+        floor(-2, 8, -2, 40);
+        for (int z = -2; z <= 40; z++) {
+            for (int y = 1; y <= 3; y++) {
+                solid(5, y, z);
+            }
+        }
+        // From 2 the steps end exactly on the wall face, from 2.03 the sweep stops them short of it
+        for (float startX : new float[] {2f, 2.03f}) {
+            BoundingBox box = box(startX, 0.5f + VoxelSweep.SKIN, 2f);
+
+            boolean hitWall = false;
+            for (int tick = 0; tick < 600; tick++) {
+                // Diagonally into the wall, pressed onto the floor like gravity does
+                float startZ = box.min.z;
+                sweep.move(chunks, box, 0.05f, -0.05f, 0.03f);
+                assertEquals("on the ground at tick " + tick, 1, sweep.normalY);
+                assertEquals(0.5f + VoxelSweep.SKIN, box.min.y, 0f);
+                if (sweep.normalX != 0) {
+                    assertEquals(-1, sweep.normalX);
+                    hitWall = true;
+                }
+                // Stopped short of the wall, or resting on its face after stepping exactly onto it, never inside
+                if (hitWall) {
+                    assertTrue("against the wall at tick " + tick, box.max.x >= 4.5f - VoxelSweep.SKIN && box.max.x <= 4.5f);
+                }
+                // Sliding on along z
+                assertEquals(0.03f, box.min.z - startZ, 1e-4f);
+                assertEquals(0, sweep.normalZ);
+            }
+            assertTrue(hitWall);
+        }
+    }
+
+    @Test
+    public void fallFromFarUpLandsExactlyOnTheFloor() {
+        floor(-2, 2, -2, 2);
+
+        // In one move
+        BoundingBox box = box(0, 10000, 0);
+        sweep.move(chunks, box, 0, -10010, 0);
+        assertEquals(1, sweep.normalY);
+        assertEquals(0.5f + VoxelSweep.SKIN, box.min.y, 0f);
+
+        // And at terminal velocity, one tick at a time
+        box = box(0, 10000, 0);
+        int ticks = 0;
+        do {
+            sweep.move(chunks, box, 0, -50f / 60f, 0);
+            ticks++;
+        } while (sweep.normalY == 0 && ticks < 20000);
+        assertEquals(1, sweep.normalY);
+        assertEquals(0.5f + VoxelSweep.SKIN, box.min.y, 0f);
+        // The box keeps its height apart from the rounding of its top face on the way down
+        assertEquals(1.8f, box.max.y - box.min.y, 0.01f);
+    }
+}
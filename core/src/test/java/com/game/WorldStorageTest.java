@@ -0,0 +1,218 @@
+package com.game;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WorldStorageTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BlockRegistry blocks = new BlockRegistry();
+    private final RandomXS128 random = new RandomXS128(3);
+    private File directory;
+    private int errors;
+    private Application app;
+
+    @Before
+    public void setUp() throws IOException {
+        blocks.register(BlockRegistry.STONE, "stone", "stone.jpg");
+        blocks.register(BlockRegistry.GRASS, "grass", "grass.jpg");
+        directory = folder.newFolder("world");
+
+        // Damaged chunks are logged, the test only counts the errors
+        app = Gdx.app;
+        Gdx.app = (Application) Proxy.newProxyInstance(Application.class.getClassLoader(),
+            new Class<?>[] {Application.class}, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    if (method.getName().equals("error")) errors++;
+                    return null;
+                }
+            });
+    }
+
+    @After
+    public void tearDown() {
+        Gdx.app = app;
+    }
+
+    private static short[] blocksOf(Chunk chunk) {
+        short[] ids = new short[Chunk.VOLUME];
+        for (int i = 0; i < Chunk.VOLUME; i++) {
+            ids[i] = chunk.getBlock(i % Chunk.SIZE, i / Chunk.SIZE / Chunk.SIZE, i / Chunk.SIZE % Chunk.SIZE);
+        }
+        return ids;
+    }
+
+    // Generated terrain stand-in: stone below y 8
+    private static Chunk generate(int cx, int cy, int cz) {
+        Chunk chunk = new Chunk(cx, cy, cz);
+        for (int y = 0; y < 8; y++) {
+            for (int z = 0; z < Chunk.SIZE; z++) {
+                for (int x = 0; x < Chunk.SIZE; x++) {
+                    chunk.setBlock(x, y, z, BlockRegistry.STONE);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    // Edits spread over the chunk with the IDs of all registered blocks and air
+    private void edit(Chunk chunk) {
+        short[] ids = {BlockRegistry.AIR, BlockRegistry.STONE, BlockRegistry.GRASS};
+        for (int i = 0; i < 500; i++) {
+            chunk.editBlock(random.nextInt(Chunk.SIZE), random.nextInt(Chunk.SIZE), random.nextInt(Chunk.SIZE),
+                ids[random.nextInt(ids.length)]);
+        }
+    }
+
+    private static void putVarint(ByteArrayOutputStream out, int value) {
+        while (value >= 0x80) {
+            out.write(value | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    // A payload in the saved format from raw (index delta, block ID) varint pairs, not checked in any way
+    private static byte[] payload(int count, int... pairs) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        putVarint(raw, count);
+        for (int value : pairs) {
+            putVarint(raw, value);
+        }
+        return deflate(raw.toByteArray());
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buffer = new byte[raw.length + 64];
+        buffer[0] = 1;
+        int length = 1 + deflater.deflate(buffer, 1, buffer.length - 1);
+        deflater.end();
+        return Arrays.copyOf(buffer, length);
+    }
+
+    @Test
+    public void editsSurviveReopening() {
+        Chunk[] saved = {generate(0, 0, 0), generate(-1, 1, 5), generate(40, 2, -33)};
+        WorldStorage storage = new WorldStorage(directory, blocks);
+        for (Chunk chunk : saved) {
+            edit(chunk);
+            storage.save(chunk);
+        }
+        // A later save of the same chunk replaces the earlier one
+        saved[0].editBlock(1, 9, 1, BlockRegistry.GRASS);
+        saved[0].editBlock(0, 0, 0, BlockRegistry.AIR);
+        storage.save(saved[0]);
+        storage.dispose();
+
+        storage = new WorldStorage(directory, blocks);
+        for (Chunk chunk : saved) {
+            Chunk loaded = generate(chunk.cx, chunk.cy, chunk.cz);
+            assertTrue(storage.applyEdits(loaded));
+            assertArrayEquals(blocksOf(chunk), blocksOf(loaded));
+            assertEquals(chunk.edits.size, loaded.edits.size);
+        }
+        // Never edited, in a saved region and in one that was never created
+        Chunk untouched = generate(1, 0, 0);
+        assertFalse(storage.applyEdits(untouched));
+        assertNull(untouched.edits);
+        assertFalse(storage.applyEdits(generate(100, 0, 100)));
+        assertEquals(0, storage.corruptChunkCount());
+        storage.dispose();
+        assertEquals(0, errors);
+    }
+
+    @Test
+    public void failedWritesAreReported() {
+        // A directory in place of the region file cannot be opened
+        assertTrue(new File(directory, "r.0.0.0.edits").mkdir());
+        WorldStorage storage = new WorldStorage(directory, blocks);
+        Chunk chunk = generate(0, 0, 0);
+        edit(chunk);
+        storage.save(chunk);
+        storage.dispose();
+        assertEquals(1, errors);
+
+        try {
+            storage.save(chunk);
+            fail();
+        } catch (GdxRuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void damagedPayloadsLeaveTheGeneratedChunk() throws IOException {
+        byte[] valid = payload(2, 5, BlockRegistry.GRASS, 3, BlockRegistry.AIR);
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 2);
+        byte[] trailing = payload(1, 5, BlockRegistry.GRASS, 7);
+        byte[] unknownFormat = valid.clone();
+        unknownFormat[0] = 2;
+        byte[][] damaged = {
+            unknownFormat,
+            new byte[0],
+            truncated,
+            trailing,
+            // Index past the end of the chunk, and a repeated index
+            payload(2, 5, BlockRegistry.GRASS, Chunk.VOLUME, BlockRegistry.STONE),
+            payload(2, 5, BlockRegistry.GRASS, 0, BlockRegistry.STONE),
+            // More edits than blocks, and fewer pairs than the count says
+            payload(Chunk.VOLUME + 1, 5, BlockRegistry.GRASS),
+            payload(3, 5, BlockRegistry.GRASS, 3, BlockRegistry.AIR),
+            // Block IDs that were never registered or do not fit a block, after a valid edit
+            payload(2, 5, BlockRegistry.GRASS, 3, 7),
+            payload(2, 5, BlockRegistry.GRASS, 3, BlockRegistry.MAX_BLOCKS),
+            payload(2, 5, BlockRegistry.GRASS, 3, 0x1FFFFF),
+        };
+        try (RegionFile region = new RegionFile(new File(directory, "r.0.0.0.edits").toPath())) {
+            region.write(RegionFile.index(0, 0), valid, valid.length);
+            for (int i = 0; i < damaged.length; i++) {
+                region.write(RegionFile.index(i + 1, 0), damaged[i], damaged[i].length);
+            }
+        }
+
+        WorldStorage storage = new WorldStorage(directory, blocks);
+        Chunk chunk = generate(0, 0, 0);
+        assertTrue(storage.applyEdits(chunk));
+        assertEquals(BlockRegistry.GRASS, chunk.getBlock(5, 0, 0));
+        assertEquals(BlockRegistry.AIR, chunk.getBlock(8, 0, 0));
+
+        short[] generated = blocksOf(generate(0, 0, 0));
+        for (int i = 0; i < damaged.length; i++) {
+            chunk = generate(i + 1, 0, 0);
+            assertFalse("payload " + i, storage.applyEdits(chunk));
+            // Nothing from the valid part of the payload is applied either
+            assertNull("payload " + i, chunk.edits);
+            assertArrayEquals("payload " + i, generated, blocksOf(chunk));
+        }
+        assertEquals(damaged.length, storage.corruptChunkCount());
+        assertEquals(damaged.length, errors);
+        storage.dispose();
+    }
+}